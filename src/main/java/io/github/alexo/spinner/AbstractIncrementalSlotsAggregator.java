@@ -0,0 +1,20 @@
+package io.github.alexo.spinner;
+
+import java.util.Iterator;
+
+/**
+ * Base class for {@link IncrementalSlotsAggregator} implementations. The full scan {@link #aggregate(Iterator, Object)} is implemented in
+ * terms of the incremental callbacks, by rebuilding the state from the provided slots.
+ *
+ * @param <I> type used by each slot.
+ * @param <O> type of the aggregated value.
+ */
+public abstract class AbstractIncrementalSlotsAggregator<I, O> implements IncrementalSlotsAggregator<I, O> {
+    public O aggregate(final Iterator<I> slotsIterator, final I expiredSlot) {
+        slotsCleared();
+        while (slotsIterator.hasNext()) {
+            slotAdded(slotsIterator.next());
+        }
+        return getAggregated();
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.alexo.spinner;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Common time keeping logic of the spinners storing primitive values. The slot boundaries are aligned to multiples of the configured
+ * time slot span, so that spinners created at different moments (or in different processes) agree on where a slot starts.
+ */
+abstract class AbstractPrimitiveSpinner {
+    final SpinnerConfig<?, ?> config;
+    final TimeSlots timeSlots;
+    /**
+     * The start time of the current time slot. Being updated after each rotation, reading it also makes visible the changes done by the
+     * rotation.
+     */
+    private volatile long startTime;
+    /**
+     * Flag used to prevent concurrent slot change.
+     */
+    private final AtomicBoolean slotIsChanging = new AtomicBoolean();
+    /**
+     * Not null when the slots are rotated by a scheduled task instead of the caller threads.
+     */
+    private final ScheduledRotation scheduledRotation;
+
+    AbstractPrimitiveSpinner(final SpinnerConfig<?, ?> config) {
+        if (config == null) {
+            throw new IllegalArgumentException("Invalid config");
+        }
+        config.validateGeometry();
+        this.config = config;
+        timeSlots = new TimeSlots(config.getTimeSlotSpan());
+        startTime = slotStart(config.getClock().now());
+        scheduledRotation = config.getRotationExecutor() != null ? createScheduledRotation() : null;
+    }
+
+    private ScheduledRotation createScheduledRotation() {
+        return new ScheduledRotation(config.getRotationExecutor(), config.getClock(),
+                config.getTimeUnit()) {
+            @Override
+            void rotate() {
+                doRotateIfRequired(config.getClock().now());
+            }
+
+            @Override
+            long getExpiryTime() {
+                return startTime + timeSlots.getSpan();
+            }
+        };
+    }
+
+    /**
+     * Starts the scheduled rotation, if configured. Invoked by the factory methods once the spinner is fully initialized.
+     */
+    final void startScheduledRotation() {
+        if (scheduledRotation != null) {
+            scheduledRotation.start();
+        }
+    }
+
+    /**
+     * Stops the scheduled rotation (if a {@link SpinnerConfig#setRotationExecutor(java.util.concurrent.ScheduledExecutorService)} is
+     * configured). Has no effect otherwise.
+     */
+    public void close() {
+        if (scheduledRotation != null) {
+            scheduledRotation.cancel();
+        }
+    }
+
+    /**
+     * If the current slot has expired, triggers the slot change operations in a thread safe manner. Does nothing when the rotation is
+     * scheduled.
+     */
+    final void rotateIfRequired() {
+        if (scheduledRotation == null) {
+            doRotateIfRequired(config.getClock().now());
+        }
+    }
+
+    /**
+     * Same as {@link #rotateIfRequired()}, for callers which already read the clock.
+     *
+     * @param now the current time.
+     */
+    final void rotateIfRequired(final long now) {
+        if (scheduledRotation == null) {
+            doRotateIfRequired(now);
+        }
+    }
+
+    private void doRotateIfRequired(final long now) {
+        if (now - startTime >= timeSlots.getSpan()) {
+            if (slotIsChanging.compareAndSet(false, true)) {
+                try {
+                    final long elapsed = now - startTime;
+                    if (elapsed >= timeSlots.getSpan()) {
+                        final long numberOfExpiredSlots = timeSlots.slotsIn(elapsed);
+                        rotate(numberOfExpiredSlots);
+                        startTime += timeSlots.durationOf(numberOfExpiredSlots);
+                    }
+                } finally {
+                    slotIsChanging.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until no slot change is in progress and prevents new ones until {@link #releaseSlots()} is called, so that the slots can be
+     * read consistently by another thread than the rotating one.
+     */
+    final void acquireSlots() {
+        while (!slotIsChanging.compareAndSet(false, true)) {
+            Thread.yield();
+        }
+    }
+
+    final void releaseSlots() {
+        slotIsChanging.set(false);
+    }
+
+    /**
+     * Moves the window by the provided number of slots. Invoked by a single thread at a time.
+     *
+     * @param numberOfExpiredSlots the number of slots elapsed since the current slot was started (at least 1).
+     */
+    abstract void rotate(long numberOfExpiredSlots);
+
+    /**
+     * @return the start time of the current slot.
+     */
+    final long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the end of the current slot.
+     */
+    final long getDeadline() {
+        return startTime + timeSlots.getSpan();
+    }
+
+    /**
+     * Sets the start time of the current slot to the one of a restored window, so that the next rotation expires the slots elapsed since
+     * then. Invoked by the constructors only.
+     */
+    final void restoreStartTime(final long restoredStartTime) {
+        startTime = restoredStartTime;
+    }
+
+    /**
+     * @return the start of the slot containing the provided time.
+     */
+    final long slotStart(final long time) {
+        return timeSlots.slotStart(time);
+    }
+
+    /**
+     * @VisibleForTesting
+     */
+    SpinnerConfig<?, ?> getConfig() {
+        return config;
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.Spinner.Clock;
+
+/**
+ * A {@link Clock} returning a cached time, refreshed by a background daemon thread at a configurable resolution. Reading the time is a
+ * single volatile read, which is cheaper than querying the system clock on every call. The returned time lags behind the source clock by
+ * at most the resolution (plus the scheduling delay of the ticker thread).
+ */
+public class CachedClock implements Clock {
+    private final Clock source;
+    private final Thread ticker;
+    private volatile long time;
+
+    /**
+     * Creates a clock cached from {@link Clock#MONOTONIC}.
+     *
+     * @param resolution the number of milliseconds between two refreshes of the cached time.
+     */
+    public static CachedClock create(final long resolution) {
+        return create(Clock.MONOTONIC, resolution);
+    }
+
+    /**
+     * @param source the clock providing the time to cache.
+     * @param resolution the number of milliseconds between two refreshes of the cached time.
+     */
+    public static CachedClock create(final Clock source, final long resolution) {
+        final CachedClock clock = new CachedClock(source, resolution);
+        clock.ticker.start();
+        return clock;
+    }
+
+    private CachedClock(final Clock source, final long resolution) {
+        if (source == null) {
+            throw new IllegalArgumentException("Invalid source clock");
+        }
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("resolution must be a positive value");
+        }
+        this.source = source;
+        time = source.now();
+        ticker = new Thread("spinner-clock-ticker") {
+            @Override
+            public void run() {
+                try {
+                    while (!isInterrupted()) {
+                        Thread.sleep(resolution);
+                        time = CachedClock.this.source.now();
+                    }
+                } catch (final InterruptedException e) {
+                    // stopped
+                }
+            }
+        };
+        ticker.setDaemon(true);
+    }
+
+    public long now() {
+        return time;
+    }
+
+    /**
+     * Stops refreshing the cached time.
+     */
+    public void stop() {
+        ticker.interrupt();
+    }
+}
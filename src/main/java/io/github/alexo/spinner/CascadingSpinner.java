@@ -0,0 +1,173 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chain of spinners with increasing time slot spans (ex: 1 second, 1 minute and 1 hour), fed from a single recording path. The values are
+ * recorded only in the finest spinner; each expired slot is merged (using a {@link SlotMerger}) into the current slot of the next, coarser
+ * spinner, which in turn rolls its own expired slots up into the next one. This way, a long window needs only a few coarse slots instead
+ * of thousands of fine ones, and a recorded value is never counted twice.
+ * <p/>
+ * The coarser spinners are not driven by the configured clock: they move only when the finer spinner rotates, using the start times of its
+ * slots, and reading them never rotates them. Since the span of each level is a multiple of the previous one, a fine slot is always merged
+ * into the coarse slot covering it.
+ *
+ * @param <I> the type of elements (input) used to represent a single slot
+ * @param <O> the type of data (output) computed by aggregation function
+ */
+public class CascadingSpinner<I, O> {
+    private final Spinner<I, O>[] levels;
+    private final SlotMerger<I> merger;
+
+    /**
+     * @param levels the configuration of each level, from the finest to the coarsest. The time slot span of each level must be a multiple
+     *        of the previous one. The clock of the first level is used for all the levels, and only the first level can use a rotation
+     *        executor or have listeners; the other settings apply to each level. The aggregators must not be shared between levels.
+     * @param merger used to merge an expired slot into the current slot of the next level.
+     */
+    public static <I, O> CascadingSpinner<I, O> create(final List<SpinnerConfig<I, O>> levels, final SlotMerger<I> merger) {
+        return new CascadingSpinner<I, O>(levels, merger);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private CascadingSpinner(final List<SpinnerConfig<I, O>> configs, final SlotMerger<I> merger) {
+        if (configs == null || configs.isEmpty()) {
+            throw new IllegalArgumentException("At least one level is required");
+        }
+        if (merger == null) {
+            throw new IllegalArgumentException("Invalid merger");
+        }
+        configs.get(0).validate();
+        final TimeUnit timeUnit = configs.get(0).getTimeUnit();
+        for (int i = 1; i < configs.size(); i++) {
+            final SpinnerConfig<I, O> config = configs.get(i);
+            config.validate();
+            final long previousSpan = spanOf(configs.get(i - 1), timeUnit);
+            final long span = spanOf(config, timeUnit);
+            if (span <= previousSpan || span % previousSpan != 0) {
+                throw new IllegalArgumentException("The time slot span of level " + i
+                        + " must be a greater multiple of the previous one");
+            }
+            if (config.getRotationExecutor() != null) {
+                throw new IllegalArgumentException("Only the first level can use a rotation executor");
+            }
+            if (!config.getListeners().isEmpty()) {
+                throw new IllegalArgumentException("Only the first level can have listeners");
+            }
+        }
+        this.merger = merger;
+        levels = new Spinner[configs.size()];
+        for (int i = 0; i < levels.length; i++) {
+            final SlotExpiryHandler<I> handler = i < levels.length - 1 ? new CascadeHandler(i + 1) : null;
+            if (i == 0) {
+                levels[i] = Spinner.create(configs.get(i), handler, false);
+            } else {
+                // start the coarse level together with the finest one
+                final LevelClock clock = new LevelClock(levels[0].getStartTime());
+                levels[i] = Spinner.create(copyWithClock(configs.get(i), clock, timeUnit), handler, true);
+            }
+        }
+    }
+
+    /**
+     * @return the time slot span of the level, in the unit of the clock of the first level.
+     */
+    private static long spanOf(final SpinnerConfig<?, ?> config, final TimeUnit timeUnit) {
+        return timeUnit.convert(config.getTimeSlotSpan(), config.getTimeUnit());
+    }
+
+    /**
+     * @return a copy of all the settings of the config (except the rotation executor and the listeners, which are not allowed), using the
+     *         provided clock.
+     */
+    private SpinnerConfig<I, O> copyWithClock(final SpinnerConfig<I, O> config, final Clock clock, final TimeUnit timeUnit) {
+        final SpinnerConfig<I, O> copy = new SpinnerConfig<I, O>().setClock(clock, timeUnit).setSlotsNumber(config.getSlotsNumber())
+                .setTimeSlotSpan(spanOf(config, timeUnit), timeUnit).setSlotSupplier(config.getSlotSupplier())
+                .setSlotsAggregator(config.getSlotsAggregator()).setStriped(config.isStriped())
+                .setStatsEnabled(config.isStatsEnabled()).setLazyAggregation(config.isLazyAggregation());
+        return copy;
+    }
+
+    /**
+     * Applies the update to the current slot of the finest level.
+     *
+     * @see Spinner#update(SlotUpdater)
+     */
+    public void update(final SlotUpdater<I> updater) {
+        levels[0].update(updater);
+    }
+
+    /**
+     * @return the number of levels.
+     */
+    public int getLevelsNumber() {
+        return levels.length;
+    }
+
+    /**
+     * @param level the index of the level, 0 being the finest one.
+     * @return the most recent aggregated data of the level.
+     */
+    public O getData(final int level) {
+        // the coarse levels move only when the finest one rotates
+        levels[0].getData();
+        return levels[level].getData();
+    }
+
+    /**
+     * Stops the scheduled rotation of the finest level, if any.
+     */
+    public void close() {
+        levels[0].close();
+    }
+
+    /**
+     * Merges the expired slots of a level into the next one, moving the clock of the next level to the time of the merged slot first. The
+     * next level is rotated only here, by the thread rotating the previous one, so a reader cannot start a rotation of the coarse slot the
+     * merged slot is about to be added to.
+     */
+    private class CascadeHandler implements SlotExpiryHandler<I> {
+        private final int level;
+
+        CascadeHandler(final int level) {
+            this.level = level;
+        }
+
+        public void slotExpired(final I slot, final long startTime, final long nextStartTime) {
+            final Spinner<I, O> next = levels[level];
+            if (next == null) {
+                // still initializing
+                return;
+            }
+            final LevelClock clock = (LevelClock) next.getConfig().getClock();
+            clock.time = startTime;
+            next.rotateIfRequired();
+            next.update(new SlotUpdater<I>() {
+                public void update(final I target) {
+                    merger.merge(slot, target);
+                }
+            });
+            // expire the coarse slots left behind if the finer level was idle
+            clock.time = nextStartTime;
+            next.rotateIfRequired();
+        }
+    }
+
+    /**
+     * Clock of a coarse level, moved by the rotation of the previous level.
+     */
+    private static final class LevelClock implements Clock {
+        volatile long time;
+
+        LevelClock(final long time) {
+            this.time = time;
+        }
+
+        public long now() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.alexo.spinner;
+
+import java.io.File;
+
+/**
+ * Spinner specialized for <code>double</code> values. The expired slots are stored in a preallocated primitive ring, and the sum and the
+ * maximum of the window are maintained incrementally, so neither recording a value nor rotating the spinner allocates any object. To
+ * prevent the accumulation of rounding errors, the running sum is recomputed from the ring once every full turn.
+ * <p/>
+ * Only the time related settings of the {@link SpinnerConfig} are used: the slot supplier and aggregator are not required.
+ */
+public class DoubleSpinner extends AbstractPrimitiveSpinner {
+    /**
+     * Collects the values for the current time slot.
+     */
+    private final StripedDouble currentSlot;
+    /**
+     * Ring of expired slot values (raw long bits). Updated only by the rotating thread.
+     */
+    private final SlotStore slots;
+    /**
+     * Sequence numbers of the candidates for the maximum value, each dominating all the candidates after it.
+     */
+    private final LongDeque maxSequences;
+    /**
+     * Raw long bits of the candidates for the maximum value.
+     */
+    private final LongDeque maxValues;
+    /**
+     * The total number of slots added to the ring.
+     */
+    private long sequence;
+    /**
+     * The number of expired slots currently in the window.
+     */
+    private int count;
+    private double runningSum;
+    private volatile double sum;
+    private volatile double max;
+    private volatile double average;
+
+    public static DoubleSpinner create(final SpinnerConfig<?, ?> config) {
+        final DoubleSpinner spinner = new DoubleSpinner(config, null);
+        spinner.startScheduledRotation();
+        return spinner;
+    }
+
+    /**
+     * Creates a spinner whose window is persisted in the provided file, which is memory-mapped: the expired slots are written directly to
+     * the file pages by each rotation. If the file holds the window of a previous spinner with the same settings (ex: before a restart),
+     * the window is restored and the slots expired since then (according to the configured clock) are discarded. The values of the slot
+     * which was current when the previous spinner stopped are lost. The stored window is ignored if it was written using another clock
+     * unit, or if its current slot starts later than the current time of the clock.
+     *
+     * @throws IllegalStateException if the file cannot be mapped.
+     */
+    public static DoubleSpinner create(final SpinnerConfig<?, ?> config, final File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Invalid file");
+        }
+        final DoubleSpinner spinner = new DoubleSpinner(config, file);
+        spinner.startScheduledRotation();
+        return spinner;
+    }
+
+    private DoubleSpinner(final SpinnerConfig<?, ?> config, final File file) {
+        super(config);
+        currentSlot = new StripedDouble(config.isStriped() ? Striped.defaultStripes() : 1);
+        slots = file == null ? SlotStore.heap(config.getSlotsNumber()) : SlotStore.map(file, SlotStore.DOUBLE,
+                config.getSlotsNumber(), config.getTimeSlotSpan(), config.getTimeUnit(), config.getClock().now());
+        maxSequences = new LongDeque(config.getSlotsNumber());
+        maxValues = new LongDeque(config.getSlotsNumber());
+        if (slots.isRestored()) {
+            restore();
+        }
+    }
+
+    /**
+     * Rebuilds the running values from the restored slots.
+     */
+    private void restore() {
+        final long restoredSequence = slots.getSequence();
+        sequence = restoredSequence - slots.getCount();
+        while (sequence < restoredSequence) {
+            push(Double.longBitsToDouble(slots.get((int) (sequence % slots.size()))));
+        }
+        restoreStartTime(slots.getStartTime());
+        publish();
+    }
+
+    /**
+     * Adds the value to the current slot.
+     */
+    public void add(final double value) {
+        rotateIfRequired();
+        currentSlot.add(value);
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * @return the sum of the expired slots in the window.
+     */
+    public double sum() {
+        rotateIfRequired();
+        return sum;
+    }
+
+    /**
+     * @return the average value of the expired slots in the window (0 if there is none).
+     */
+    public double average() {
+        rotateIfRequired();
+        return average;
+    }
+
+    /**
+     * @return the maximum value of the expired slots in the window (0 if there is none).
+     */
+    public double max() {
+        rotateIfRequired();
+        return max;
+    }
+
+    @Override
+    void rotate(final long numberOfExpiredSlots) {
+        // values added concurrently after this point belong to the new slot
+        final double expiredValue = currentSlot.sumThenReset();
+        if (numberOfExpiredSlots > slots.size()) {
+            clear();
+        } else {
+            // the expired slot is the oldest one, followed by the slots elapsed without any update
+            push(expiredValue);
+            for (int i = 0; i < numberOfExpiredSlots - 1; i++) {
+                push(0);
+            }
+        }
+        slots.saveState(getStartTime() + timeSlots.durationOf(numberOfExpiredSlots), sequence, count);
+        publish();
+    }
+
+    private void publish() {
+        sum = runningSum;
+        max = maxValues.isEmpty() ? 0 : Double.longBitsToDouble(maxValues.peekFirst());
+        average = count == 0 ? 0 : runningSum / count;
+    }
+
+    private void push(final double value) {
+        final int index = (int) (sequence % slots.size());
+        if (count == slots.size()) {
+            runningSum -= Double.longBitsToDouble(slots.get(index));
+            if (maxSequences.peekFirst() == sequence - slots.size()) {
+                maxSequences.pollFirst();
+                maxValues.pollFirst();
+            }
+        } else {
+            count++;
+        }
+        slots.set(index, Double.doubleToRawLongBits(value));
+        if (index == slots.size() - 1 && count == slots.size()) {
+            recomputeSum();
+        } else {
+            runningSum += value;
+        }
+        while (!maxValues.isEmpty() && Double.longBitsToDouble(maxValues.peekLast()) <= value) {
+            maxValues.pollLast();
+            maxSequences.pollLast();
+        }
+        maxValues.addLast(Double.doubleToRawLongBits(value));
+        maxSequences.addLast(sequence);
+        sequence++;
+    }
+
+    private void recomputeSum() {
+        double total = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            total += Double.longBitsToDouble(slots.get(i));
+        }
+        runningSum = total;
+    }
+
+    /**
+     * Stops the scheduled rotation (if any) and, when the window is persisted, writes it to the disk.
+     */
+    @Override
+    public void close() {
+        super.close();
+        slots.force();
+    }
+
+    private void clear() {
+        count = 0;
+        runningSum = 0;
+        maxSequences.clear();
+        maxValues.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.alexo.spinner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spinner computing an exponentially weighted moving average of the values added during each time slot, as the 1, 5 and 15 minutes
+ * load averages. Instead of keeping the expired slots, only the average is kept: each expired slot is folded into it with the weight
+ * <code>1 - exp(-1 / slotsNumber)</code>, so the average reflects mostly the last <code>slotsNumber * timeSlotSpan</code> (ex: a 1 minute
+ * rate is computed using a span of 5 seconds and 12 slots).
+ * <p/>
+ * The values are added to a striped accumulator and the average is updated lazily, when the time slot has expired: the idle slots elapsed
+ * since the last update are all accounted at once, since decaying the average over <code>n</code> empty slots is the same as multiplying
+ * it by <code>exp(-n / slotsNumber)</code>. This way, the state does not depend on the slots number and a rotation costs the same
+ * regardless of the elapsed time.
+ * <p/>
+ * Only the time related settings of the {@link SpinnerConfig} are used: the slot supplier and aggregator are not required.
+ */
+public class EwmaSpinner extends AbstractPrimitiveSpinner {
+    /**
+     * Collects the values for the current time slot.
+     */
+    private final StripedLong currentSlot;
+    /**
+     * The part of the average kept by each rotation.
+     */
+    private final double decay;
+    /**
+     * Whether the average was initialized using the first expired slot. Used only by the rotating thread.
+     */
+    private boolean initialized;
+    private volatile double rate;
+
+    public static EwmaSpinner create(final SpinnerConfig<?, ?> config) {
+        final EwmaSpinner spinner = new EwmaSpinner(config);
+        spinner.startScheduledRotation();
+        return spinner;
+    }
+
+    private EwmaSpinner(final SpinnerConfig<?, ?> config) {
+        super(config);
+        currentSlot = new StripedLong(config.isStriped() ? Striped.defaultStripes() : 1);
+        decay = Math.exp(-1.0 / config.getSlotsNumber());
+    }
+
+    /**
+     * Adds the value to the current slot.
+     */
+    public void add(final long value) {
+        rotateIfRequired();
+        currentSlot.add(value);
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * @return the moving average of the values added per time slot, not including the current slot (0 before the first rotation).
+     */
+    public double getRate() {
+        rotateIfRequired();
+        return rate;
+    }
+
+    /**
+     * @return the moving average of the values added per provided time unit (ex: events per second).
+     */
+    public double getRate(final TimeUnit unit) {
+        return getRate() / config.getTimeSlotSpan() * unit.toNanos(1) / config.getTimeUnit().toNanos(1);
+    }
+
+    @Override
+    void rotate(final long numberOfExpiredSlots) {
+        final long value = currentSlot.sumThenReset();
+        double updated;
+        if (initialized) {
+            updated = rate * decay + value * (1 - decay);
+        } else {
+            // start from the first value instead of zero, to avoid a long ramp up
+            updated = value;
+            initialized = true;
+        }
+        if (numberOfExpiredSlots > 1) {
+            // the following slots were idle
+            updated *= Math.pow(decay, numberOfExpiredSlots - 1);
+        }
+        rate = updated;
+    }
+}
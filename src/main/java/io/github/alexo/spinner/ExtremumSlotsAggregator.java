@@ -0,0 +1,85 @@
+package io.github.alexo.spinner;
+
+/**
+ * Incremental aggregator computing the maximum (or minimum) slot value in the window using a monotonic deque: every slot is added and
+ * removed at most once, so the amortized cost of a rotation is O(1).
+ *
+ * @param <I> type used by each slot.
+ */
+abstract class ExtremumSlotsAggregator<I> extends AbstractIncrementalSlotsAggregator<I, Long> {
+    /**
+     * Sequence numbers of the candidate slots, each candidate dominating all the candidates after it.
+     */
+    private final LongDeque sequences = new LongDeque();
+    /**
+     * Values of the candidate slots, aligned with {@link #sequences}.
+     */
+    private final LongDeque values = new LongDeque();
+    /**
+     * Sequence number of the next added slot.
+     */
+    private long added;
+    /**
+     * Sequence number of the next evicted slot.
+     */
+    private long evicted;
+
+    /**
+     * @return the numeric value of the provided slot.
+     */
+    protected abstract long valueOf(I slot);
+
+    /**
+     * @return true if the candidate value should be kept when the provided value is added after it.
+     */
+    abstract boolean dominates(long candidate, long value);
+
+    public void slotAdded(final I slot) {
+        addCandidate(valueOf(slot), added++);
+    }
+
+    /**
+     * The skipped time slots are empty, so the run is represented by a single candidate: its newest time slot, which stays in the window
+     * the longest.
+     */
+    public void slotsSkipped(final int count) {
+        added += count;
+        addCandidate(0, added - 1);
+    }
+
+    public void slotEvicted(final I slot) {
+        evict(1);
+    }
+
+    public void skippedSlotsEvicted(final int count) {
+        evict(count);
+    }
+
+    private void addCandidate(final long value, final long sequence) {
+        while (!values.isEmpty() && !dominates(values.peekLast(), value)) {
+            values.pollLast();
+            sequences.pollLast();
+        }
+        values.addLast(value);
+        sequences.addLast(sequence);
+    }
+
+    private void evict(final int count) {
+        evicted = Math.min(evicted + count, added);
+        while (!sequences.isEmpty() && sequences.peekFirst() < evicted) {
+            sequences.pollFirst();
+            values.pollFirst();
+        }
+    }
+
+    public void slotsCleared() {
+        sequences.clear();
+        values.clear();
+        added = 0;
+        evicted = 0;
+    }
+
+    public Long getAggregated() {
+        return values.isEmpty() ? 0L : values.peekFirst();
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.alexo.spinner;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of non negative <code>long</code> values (ex: latencies), using log-linear buckets similar to the HdrHistogram: the values
+ * are grouped by their highest bit, and each group is split in a fixed number of linear sub-buckets, so that the relative error of a
+ * recorded value does not exceed the configured number of significant digits. The buckets are stored in an {@link AtomicLongArray}, so
+ * the values can be recorded concurrently without locking.
+ * <p/>
+ * Histograms with the same settings can be added to and subtracted from each other, which makes them suitable as spinner slots: see
+ * {@link HistogramSlotsAggregator}.
+ */
+public class Histogram {
+    private final long maxValue;
+    private final int significantDigits;
+    /**
+     * The number of linear sub-buckets used for each power of two (a power of two itself).
+     */
+    private final int subBucketCount;
+    private final int subBucketBits;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param maxValue the highest value to track with the configured precision; higher values are counted in the last bucket.
+     * @param significantDigits the number of significant decimal digits to preserve (between 1 and 3).
+     */
+    public static Histogram create(final long maxValue, final int significantDigits) {
+        return new Histogram(maxValue, significantDigits);
+    }
+
+    /**
+     * @return a {@link SlotSupplier} creating empty histograms with the provided settings.
+     */
+    public static SlotSupplier<Histogram> supplier(final long maxValue, final int significantDigits) {
+        // fail fast on invalid settings
+        create(maxValue, significantDigits);
+        return new SlotSupplier<Histogram>() {
+            public Histogram get() {
+                return create(maxValue, significantDigits);
+            }
+        };
+    }
+
+    private Histogram(final long maxValue, final int significantDigits) {
+        if (maxValue < 1) {
+            throw new IllegalArgumentException("maxValue must be a positive value");
+        }
+        if (significantDigits < 1 || significantDigits > 3) {
+            throw new IllegalArgumentException("significantDigits must be between 1 and 3");
+        }
+        this.maxValue = maxValue;
+        this.significantDigits = significantDigits;
+        long precision = 2;
+        for (int i = 0; i < significantDigits; i++) {
+            precision *= 10;
+        }
+        // the smallest power of two able to distinguish 2 * 10^digits values
+        subBucketBits = 64 - Long.numberOfLeadingZeros(precision - 1);
+        subBucketCount = 1 << subBucketBits;
+        counts = new AtomicLongArray(indexOf(maxValue) + 1);
+    }
+
+    private Histogram(final Histogram settings, final long[] counts) {
+        maxValue = settings.maxValue;
+        significantDigits = settings.significantDigits;
+        subBucketBits = settings.subBucketBits;
+        subBucketCount = settings.subBucketCount;
+        this.counts = new AtomicLongArray(counts);
+    }
+
+    /**
+     * Records one occurrence of the value.
+     *
+     * @throws IllegalArgumentException if the value is negative.
+     */
+    public void record(final long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Records several occurrences of the value.
+     *
+     * @throws IllegalArgumentException if the value is negative.
+     */
+    public void record(final long value, final long count) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot record a negative value: " + value);
+        }
+        counts.addAndGet(Math.min(indexOf(value), counts.length() - 1), count);
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100.
+     * @return the highest value equivalent (within the configured precision) to the value at the given percentile, or 0 if the histogram
+     *         is empty.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        final long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+            if (count >= target) {
+                return highestValueAt(i);
+            }
+        }
+        return highestValueAt(counts.length() - 1);
+    }
+
+    /**
+     * @return the highest recorded value (within the configured precision), or 0 if the histogram is empty.
+     */
+    public long getMaxValue() {
+        for (int i = counts.length() - 1; i >= 0; i--) {
+            if (counts.get(i) != 0) {
+                return highestValueAt(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds the counts of the other histogram to this one.
+     *
+     * @throws IllegalArgumentException if the histograms have different settings.
+     */
+    public void add(final Histogram other) {
+        checkCompatible(other);
+        for (int i = 0; i < counts.length(); i++) {
+            final long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    /**
+     * Subtracts the counts of the other histogram (previously added) from this one.
+     *
+     * @throws IllegalArgumentException if the histograms have different settings.
+     */
+    public void subtract(final Histogram other) {
+        checkCompatible(other);
+        for (int i = 0; i < counts.length(); i++) {
+            final long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, -count);
+            }
+        }
+    }
+
+    /**
+     * Removes all the recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * @return a new histogram with the same settings and counts.
+     */
+    public Histogram copy() {
+        // a snapshot into a plain array, copied at once by the new histogram, instead of an atomic add per bucket
+        final long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return new Histogram(this, snapshot);
+    }
+
+    private void checkCompatible(final Histogram other) {
+        if (other.maxValue != maxValue || other.significantDigits != significantDigits) {
+            throw new IllegalArgumentException("Incompatible histogram settings");
+        }
+    }
+
+    /**
+     * The values lower than {@link #subBucketCount} have a bucket each. The higher values are shifted right so that they fit in the upper
+     * half of the sub-buckets, each shift adding half of {@link #subBucketCount} buckets.
+     */
+    private int indexOf(final long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - subBucketBits;
+        final int half = subBucketCount >> 1;
+        return subBucketCount + (shift - 1) * half + (int) (value >>> shift) - half;
+    }
+
+    private long highestValueAt(final int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        final int half = subBucketCount >> 1;
+        final int shift = (index - subBucketCount) / half + 1;
+        final long subBucket = (index - subBucketCount) % half + half;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
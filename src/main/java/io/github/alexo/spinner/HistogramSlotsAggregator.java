@@ -0,0 +1,59 @@
+package io.github.alexo.spinner;
+
+/**
+ * Incremental aggregator for {@link Histogram} slots. A rolling histogram holding all the values of the window is maintained by adding
+ * each expired slot and subtracting the evicted one, so a rotation costs a pass over the buckets of two histograms, regardless of the
+ * number of slots. The aggregated value is a copy of the rolling histogram, which can be queried (ex:
+ * {@link Histogram#getValueAtPercentile(double)}) without being affected by the following rotations. The copy is made only when the
+ * aggregated value is requested and the window has changed since the previous copy: with {@link SpinnerConfig#setLazyAggregation(boolean)}
+ * enabled, this happens only when the data is read after a slot change, not on every rotation.
+ * <p/>
+ * The evicted slot is subtracted using its current counts, so the slots should be recorded using {@link Spinner#update(SlotUpdater)}, which
+ * guarantees that an expired slot is not changed anymore.
+ */
+public class HistogramSlotsAggregator extends AbstractIncrementalSlotsAggregator<Histogram, Histogram> {
+    private final Histogram rolling;
+    /**
+     * The copy of the rolling histogram returned by the last {@link #getAggregated()} call, or null if the window changed since.
+     */
+    private Histogram aggregated;
+
+    /**
+     * @param maxValue the maxValue of the aggregated histograms.
+     * @param significantDigits the significantDigits of the aggregated histograms.
+     * @see Histogram#create(long, int)
+     */
+    public HistogramSlotsAggregator(final long maxValue, final int significantDigits) {
+        rolling = Histogram.create(maxValue, significantDigits);
+    }
+
+    public void slotAdded(final Histogram slot) {
+        rolling.add(slot);
+        aggregated = null;
+    }
+
+    public void slotsSkipped(final int count) {
+        // the skipped time slots hold no value
+    }
+
+    public void slotEvicted(final Histogram slot) {
+        rolling.subtract(slot);
+        aggregated = null;
+    }
+
+    public void skippedSlotsEvicted(final int count) {
+        // the skipped time slots hold no value
+    }
+
+    public void slotsCleared() {
+        rolling.reset();
+        aggregated = null;
+    }
+
+    public Histogram getAggregated() {
+        if (aggregated == null) {
+            aggregated = rolling.copy();
+        }
+        return aggregated;
+    }
+}
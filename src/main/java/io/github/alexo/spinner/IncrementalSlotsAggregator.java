@@ -0,0 +1,46 @@
+package io.github.alexo.spinner;
+
+/**
+ * A {@link SlotsAggregator} which maintains its result incrementally. Instead of re-scanning all the slots on every rotation, the
+ * {@link Spinner} notifies the aggregator about each slot entering and leaving the window, so the rotation cost does not depend on the
+ * configured slots number.
+ * <p/>
+ * Slots are always evicted in the same order they were added (FIFO). The time slots during which the spinner was idle have no slot: each
+ * run of them is added by a single {@link #slotsSkipped(int)} call and evicted by {@link #skippedSlotsEvicted(int)}, possibly in several
+ * parts. The aggregator is stateful, therefore the same instance must not be shared by several spinners. All the callbacks are invoked by
+ * a single thread at a time (the one rotating the spinner).
+ *
+ * @param <I> type used by each slot.
+ * @param <O> type of the aggregated value.
+ */
+public interface IncrementalSlotsAggregator<I, O> extends SlotsAggregator<I, O> {
+    /**
+     * Invoked when a slot becomes the newest slot of the window.
+     */
+    void slotAdded(I slot);
+
+    /**
+     * Invoked when the provided number of empty time slots (during which the spinner was idle) become the newest slots of the window.
+     */
+    void slotsSkipped(int count);
+
+    /**
+     * Invoked when the oldest slot of the window is dropped.
+     */
+    void slotEvicted(I slot);
+
+    /**
+     * Invoked when the provided number of empty time slots, the oldest of the window, are dropped.
+     */
+    void skippedSlotsEvicted(int count);
+
+    /**
+     * Invoked when all the slots of the window are dropped at once.
+     */
+    void slotsCleared();
+
+    /**
+     * @return the aggregated value of the slots currently in the window. Should return a non empty result even when there are no slots.
+     */
+    O getAggregated();
+}
@@ -0,0 +1,140 @@
+package io.github.alexo.spinner;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands the rotations of a spinner over to a {@link SpinnerListener} through a bounded ring, so a slow listener never delays the rotation:
+ * when the ring is full, the rotation is dropped. The ring is drained by a single task at a time, submitted to the executor only when there
+ * is no pending one, so the listener is invoked sequentially, in the order of the rotations.
+ * <p/>
+ * Each spinner has its own dispatcher, created from a {@link Registration} of its configuration. The rotations of a spinner are published
+ * by a single thread at a time and the ring is drained by a single task at a time, so the ring does not use any lock: publishing a
+ * rotation is a few ordered stores.
+ */
+final class ListenerDispatcher<I, O> implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(ListenerDispatcher.class);
+    private final Spinner<I, O> spinner;
+    private final SpinnerListener<I, O> listener;
+    private final Executor executor;
+    private final AtomicReferenceArray<Event<I, O>> events;
+    /**
+     * The number of events polled so far. Written only by the drain task.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * The number of events published so far. Written only by the rotating thread.
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * True while a drain task is submitted or running.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private ListenerDispatcher(final Spinner<I, O> spinner, final Registration<I, O> registration) {
+        this.spinner = spinner;
+        listener = registration.listener;
+        executor = registration.executor;
+        events = new AtomicReferenceArray<Event<I, O>>(registration.capacity);
+    }
+
+    /**
+     * Queues the rotation without blocking. Invoked by the thread rotating the spinner.
+     *
+     * @return false if the rotation was dropped, because the ring is full.
+     */
+    boolean publish(final I slot, final long startTime, final O data) {
+        final long published = tail.get();
+        final boolean queued = published - head.get() < events.length();
+        if (queued) {
+            events.lazySet(index(published), new Event<I, O>(slot, startTime, data));
+            // a volatile write, so that a drain task resetting the scheduled flag afterwards sees the event
+            tail.set(published + 1);
+        }
+        scheduleDrain();
+        return queued;
+    }
+
+    private void scheduleDrain() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (final RuntimeException e) {
+                scheduled.set(false);
+                LOG.error("Cannot notify the spinner listener", e);
+            }
+        }
+    }
+
+    public void run() {
+        try {
+            long polled = head.get();
+            while (polled != tail.get()) {
+                final int index = index(polled);
+                final Event<I, O> event = events.get(index);
+                events.lazySet(index, null);
+                head.lazySet(++polled);
+                try {
+                    listener.rotated(spinner, event.slot, event.startTime, event.data);
+                } catch (final RuntimeException e) {
+                    LOG.error("Spinner listener failed", e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // an event published after the last check, but before the flag was reset, would not be delivered otherwise
+        if (head.get() != tail.get()) {
+            scheduleDrain();
+        }
+    }
+
+    private int index(final long sequence) {
+        return (int) (sequence % events.length());
+    }
+
+    /**
+     * A listener registered in a {@link SpinnerConfig}, from which each spinner creates its own dispatcher.
+     */
+    static final class Registration<I, O> {
+        private final SpinnerListener<I, O> listener;
+        private final Executor executor;
+        private final int capacity;
+
+        Registration(final SpinnerListener<I, O> listener, final Executor executor, final int capacity) {
+            if (listener == null) {
+                throw new IllegalArgumentException("Invalid listener");
+            }
+            if (executor == null) {
+                throw new IllegalArgumentException("Invalid executor");
+            }
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be a positive value");
+            }
+            this.listener = listener;
+            this.executor = executor;
+            this.capacity = capacity;
+        }
+
+        ListenerDispatcher<I, O> createDispatcher(final Spinner<I, O> spinner) {
+            return new ListenerDispatcher<I, O>(spinner, this);
+        }
+    }
+
+    private static final class Event<I, O> {
+        final I slot;
+        final long startTime;
+        final O data;
+
+        Event(final I slot, final long startTime, final O data) {
+            this.slot = slot;
+            this.startTime = startTime;
+            this.data = data;
+        }
+    }
+}
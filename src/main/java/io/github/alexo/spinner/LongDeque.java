@@ -0,0 +1,88 @@
+package io.github.alexo.spinner;
+
+/**
+ * Growable circular deque of primitive longs, used by the incremental aggregators to avoid boxing. Not thread safe.
+ */
+final class LongDeque {
+    private static final int DEFAULT_CAPACITY = 16;
+    private long[] elements;
+    /**
+     * Index of the first element.
+     */
+    private int head;
+    private int size;
+
+    LongDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the initial capacity; the deque never allocates while its size does not exceed it.
+     */
+    LongDeque(final int capacity) {
+        elements = new long[Math.max(1, capacity)];
+    }
+
+    void addLast(final long value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[index(size)] = value;
+        size++;
+    }
+
+    long peekFirst() {
+        checkNotEmpty();
+        return elements[head];
+    }
+
+    long peekLast() {
+        checkNotEmpty();
+        return elements[index(size - 1)];
+    }
+
+    long pollFirst() {
+        final long value = peekFirst();
+        head = index(1);
+        size--;
+        return value;
+    }
+
+    long pollLast() {
+        final long value = peekLast();
+        size--;
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private int index(final int offset) {
+        return (head + offset) % elements.length;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("deque is empty");
+        }
+    }
+
+    private void grow() {
+        final long[] grown = new long[elements.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = elements[index(i)];
+        }
+        elements = grown;
+        head = 0;
+    }
+}
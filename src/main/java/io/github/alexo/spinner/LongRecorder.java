@@ -0,0 +1,94 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Handle used by a single thread to add values to a {@link LongSpinner} without touching any shared memory. The recorder keeps the running
+ * total of the values added by its thread in a padded cell, written with an ordered store (no atomic read-modify-write, no memory fence)
+ * and never written by other threads. Each rotation of the spinner collects the difference between the current total of every recorder and
+ * the total collected by the previous rotation.
+ * <p/>
+ * The recorder keeps the end of the slot its values belong to and compares it with the clock of the spinner on each added value (configure
+ * a {@link CachedClock} to make this check a single volatile read). The first value added after that deadline rotates the spinner before
+ * being recorded, so the values added before it are collected into the slot which was current when they were added, even when the thread
+ * records less often than the spinner is read. When the rotation is scheduled (see
+ * {@link SpinnerConfig#setRotationExecutor(java.util.concurrent.ScheduledExecutorService)}), the values are collected by the scheduled
+ * rotation, like the ones added by {@link LongSpinner#add(long)}. A value added concurrently with the rotation may be accounted in the next
+ * slot.
+ * <p/>
+ * A recorder is not thread safe and must be closed when its thread stops recording; adding a value to a closed recorder fails.
+ */
+public final class LongRecorder {
+    /**
+     * The index of the total in the cell array: the rest of the array pads it against false sharing with the cells of other recorders.
+     */
+    private static final int INDEX = 16;
+    private final LongSpinner spinner;
+    private final Clock clock;
+    private final AtomicLongArray cell = new AtomicLongArray(2 * INDEX);
+    /**
+     * The total of the added values. Accessed only by the owner thread.
+     */
+    private long total;
+    /**
+     * The end of the slot collecting the added values. Accessed only by the owner thread.
+     */
+    private long deadline;
+    /**
+     * Accessed only by the owner thread.
+     */
+    private boolean closed;
+    /**
+     * The total collected by the latest rotation. Accessed only by the rotating thread.
+     */
+    private long collected;
+
+    LongRecorder(final LongSpinner spinner) {
+        this.spinner = spinner;
+        clock = spinner.config.getClock();
+        deadline = spinner.getDeadline();
+    }
+
+    /**
+     * Adds the value to the current slot of the spinner.
+     *
+     * @throws IllegalStateException if the recorder is closed.
+     */
+    public void add(final long value) {
+        if (closed) {
+            throw new IllegalStateException("The recorder is closed");
+        }
+        final long now = clock.now();
+        if (now - deadline >= 0) {
+            // the values added so far are collected before crossing the slot boundary
+            spinner.rotateIfRequired(now);
+            deadline = spinner.getDeadline();
+        }
+        total += value;
+        cell.lazySet(INDEX, total);
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Stops recording: the values not collected by a rotation yet are added to the current slot of the spinner.
+     */
+    public void close() {
+        closed = true;
+        spinner.removeRecorder(this);
+    }
+
+    /**
+     * @return the values added since the previous call. Invoked by the rotating thread only.
+     */
+    long collect() {
+        final long current = cell.get(INDEX);
+        final long collectedValues = current - collected;
+        collected = current;
+        return collectedValues;
+    }
+}
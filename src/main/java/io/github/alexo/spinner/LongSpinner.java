@@ -0,0 +1,236 @@
+package io.github.alexo.spinner;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Spinner specialized for <code>long</code> values. The expired slots are stored in a preallocated primitive ring, and the sum and the
+ * maximum of the window are maintained incrementally, so neither recording a value nor rotating the spinner allocates any object.
+ * <p/>
+ * Only the time related settings of the {@link SpinnerConfig} are used: the slot supplier and aggregator are not required.
+ */
+public class LongSpinner extends AbstractPrimitiveSpinner {
+    /**
+     * Collects the values for the current time slot.
+     */
+    private final StripedLong currentSlot;
+    /**
+     * The recorders whose values are collected by each rotation.
+     */
+    private final List<LongRecorder> recorders = new CopyOnWriteArrayList<LongRecorder>();
+    /**
+     * Ring of expired slot values. Updated only by the rotating thread.
+     */
+    private final SlotStore slots;
+    /**
+     * Sequence numbers of the candidates for the maximum value, each dominating all the candidates after it.
+     */
+    private final LongDeque maxSequences;
+    private final LongDeque maxValues;
+    /**
+     * The total number of slots added to the ring.
+     */
+    private long sequence;
+    /**
+     * The number of expired slots currently in the window.
+     */
+    private int count;
+    private long runningSum;
+    private volatile long sum;
+    private volatile long max;
+    private volatile double average;
+
+    public static LongSpinner create(final SpinnerConfig<?, ?> config) {
+        final LongSpinner spinner = new LongSpinner(config, null);
+        spinner.startScheduledRotation();
+        return spinner;
+    }
+
+    /**
+     * Creates a spinner whose window is persisted in the provided file, which is memory-mapped: the expired slots are written directly to
+     * the file pages by each rotation. If the file holds the window of a previous spinner with the same settings (ex: before a restart),
+     * the window is restored and the slots expired since then (according to the configured clock) are discarded. The values of the slot
+     * which was current when the previous spinner stopped are lost. The stored window is ignored if it was written using another clock
+     * unit, or if its current slot starts later than the current time of the clock.
+     *
+     * @throws IllegalStateException if the file cannot be mapped.
+     */
+    public static LongSpinner create(final SpinnerConfig<?, ?> config, final File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Invalid file");
+        }
+        final LongSpinner spinner = new LongSpinner(config, file);
+        spinner.startScheduledRotation();
+        return spinner;
+    }
+
+    private LongSpinner(final SpinnerConfig<?, ?> config, final File file) {
+        super(config);
+        currentSlot = new StripedLong(config.isStriped() ? Striped.defaultStripes() : 1);
+        slots = file == null ? SlotStore.heap(config.getSlotsNumber()) : SlotStore.map(file, SlotStore.LONG,
+                config.getSlotsNumber(), config.getTimeSlotSpan(), config.getTimeUnit(), config.getClock().now());
+        maxSequences = new LongDeque(config.getSlotsNumber());
+        maxValues = new LongDeque(config.getSlotsNumber());
+        if (slots.isRestored()) {
+            restore();
+        }
+    }
+
+    /**
+     * Rebuilds the running values from the restored slots.
+     */
+    private void restore() {
+        final long restoredSequence = slots.getSequence();
+        sequence = restoredSequence - slots.getCount();
+        while (sequence < restoredSequence) {
+            push(slots.get((int) (sequence % slots.size())));
+        }
+        restoreStartTime(slots.getStartTime());
+        publish();
+    }
+
+    /**
+     * Adds the value to the current slot.
+     */
+    public void add(final long value) {
+        rotateIfRequired();
+        currentSlot.add(value);
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Creates a handle to be used by a single thread to add values much more cheaply than {@link #add(long)}, the values being collected
+     * by the rotations of the spinner.
+     *
+     * @see LongRecorder
+     */
+    public LongRecorder recorder() {
+        final LongRecorder recorder = new LongRecorder(this);
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    void removeRecorder(final LongRecorder recorder) {
+        // prevent a concurrent rotation from collecting the same values
+        acquireSlots();
+        try {
+            if (recorders.remove(recorder)) {
+                currentSlot.add(recorder.collect());
+            }
+        } finally {
+            releaseSlots();
+        }
+    }
+
+    /**
+     * @return the sum of the expired slots in the window.
+     */
+    public long sum() {
+        rotateIfRequired();
+        return sum;
+    }
+
+    /**
+     * @return the average value of the expired slots in the window (0 if there is none).
+     */
+    public double average() {
+        rotateIfRequired();
+        return average;
+    }
+
+    /**
+     * @return the maximum value of the expired slots in the window (0 if there is none).
+     */
+    public long max() {
+        rotateIfRequired();
+        return max;
+    }
+
+    /**
+     * @return a copy of the expired slots in the window, which can be encoded and merged with the windows of other spinners having the
+     *         same time slot span.
+     */
+    public LongWindow window() {
+        rotateIfRequired();
+        acquireSlots();
+        try {
+            final long span = config.getTimeSlotSpan();
+            final long[] values = new long[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = slots.get((int) ((sequence - count + i) % slots.size()));
+            }
+            // the expired slots immediately precede the current one
+            return new LongWindow(span, getStartTime() / span - count, values);
+        } finally {
+            releaseSlots();
+        }
+    }
+
+    @Override
+    void rotate(final long numberOfExpiredSlots) {
+        // values added concurrently after this point belong to the new slot
+        long expiredValue = currentSlot.sumThenReset();
+        for (final LongRecorder recorder : recorders) {
+            expiredValue += recorder.collect();
+        }
+        if (numberOfExpiredSlots > slots.size()) {
+            clear();
+        } else {
+            // the expired slot is the oldest one, followed by the slots elapsed without any update
+            push(expiredValue);
+            for (int i = 0; i < numberOfExpiredSlots - 1; i++) {
+                push(0);
+            }
+        }
+        slots.saveState(getStartTime() + timeSlots.durationOf(numberOfExpiredSlots), sequence, count);
+        publish();
+    }
+
+    private void publish() {
+        sum = runningSum;
+        max = maxValues.isEmpty() ? 0 : maxValues.peekFirst();
+        average = count == 0 ? 0 : (double) runningSum / count;
+    }
+
+    private void push(final long value) {
+        final int index = (int) (sequence % slots.size());
+        if (count == slots.size()) {
+            runningSum -= slots.get(index);
+            if (maxSequences.peekFirst() == sequence - slots.size()) {
+                maxSequences.pollFirst();
+                maxValues.pollFirst();
+            }
+        } else {
+            count++;
+        }
+        slots.set(index, value);
+        runningSum += value;
+        while (!maxValues.isEmpty() && maxValues.peekLast() <= value) {
+            maxValues.pollLast();
+            maxSequences.pollLast();
+        }
+        maxValues.addLast(value);
+        maxSequences.addLast(sequence);
+        sequence++;
+    }
+
+    /**
+     * Stops the scheduled rotation (if any) and, when the window is persisted, writes it to the disk.
+     */
+    @Override
+    public void close() {
+        super.close();
+        slots.force();
+    }
+
+    private void clear() {
+        count = 0;
+        runningSum = 0;
+        maxSequences.clear();
+        maxValues.clear();
+    }
+}
@@ -0,0 +1,245 @@
+package io.github.alexo.spinner;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable copy of the expired slots of a {@link LongSpinner}, aligned to absolute slot boundaries (multiples of the time slot span), so
+ * that the windows of spinners running on different nodes can be merged slot by slot. The windows can be encoded in a compact binary
+ * format, using variable length integers for the deltas between consecutive slots.
+ */
+public class LongWindow {
+    private static final int VERSION = 1;
+    private final long timeSlotSpan;
+    /**
+     * The absolute index of the oldest slot (its start time divided by the span).
+     */
+    private final long firstSlot;
+    private final long[] values;
+
+    LongWindow(final long timeSlotSpan, final long firstSlot, final long[] values) {
+        this.timeSlotSpan = timeSlotSpan;
+        this.firstSlot = firstSlot;
+        this.values = values;
+    }
+
+    /**
+     * Merges the windows by adding the values of the slots with the same start time. The result covers all the slots of the merged
+     * windows, so that nodes which did not rotate at exactly the same moment can still be merged. The result is limited to twice the size
+     * of the largest merged window though: when the windows are further apart (ex: the window of a stale node), only the most recent slots
+     * are kept.
+     *
+     * @throws IllegalArgumentException if the windows do not have the same time slot span.
+     */
+    public static LongWindow merge(final Collection<LongWindow> windows) {
+        if (windows == null || windows.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to merge");
+        }
+        final long timeSlotSpan = windows.iterator().next().timeSlotSpan;
+        long first = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        int largestSize = 0;
+        for (final LongWindow window : windows) {
+            if (window.timeSlotSpan != timeSlotSpan) {
+                throw new IllegalArgumentException("Cannot merge windows with different time slot spans");
+            }
+            if (window.values.length > 0) {
+                if (window.firstSlot > Long.MAX_VALUE - window.values.length) {
+                    throw new IllegalArgumentException("Invalid window");
+                }
+                first = Math.min(first, window.firstSlot);
+                end = Math.max(end, window.firstSlot + window.values.length);
+                largestSize = Math.max(largestSize, window.values.length);
+            }
+        }
+        if (first == Long.MAX_VALUE) {
+            return new LongWindow(timeSlotSpan, 0, new long[0]);
+        }
+        final long maxSize = 2L * largestSize;
+        // the difference overflows when the windows are too far apart
+        final long size = end - first;
+        final long start = size < 0 || size > maxSize ? end - maxSize : first;
+        final long[] merged = new long[(int) (end - start)];
+        for (final LongWindow window : windows) {
+            if (window.values.length == 0 || window.firstSlot + window.values.length <= start) {
+                continue;
+            }
+            // both are within the bounds of the merged window, since the window ends after its start
+            final int skipped = window.firstSlot < start ? (int) (start - window.firstSlot) : 0;
+            final int offset = window.firstSlot > start ? (int) (window.firstSlot - start) : 0;
+            for (int i = skipped; i < window.values.length; i++) {
+                merged[offset + i - skipped] += window.values[i];
+            }
+        }
+        return new LongWindow(timeSlotSpan, start, merged);
+    }
+
+    /**
+     * @return a window merging this window with the other one.
+     * @see #merge(Collection)
+     */
+    public LongWindow merge(final LongWindow other) {
+        return merge(Arrays.asList(this, other));
+    }
+
+    /**
+     * @return the number of slots.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @param index the index of the slot, 0 being the oldest one.
+     */
+    public long get(final int index) {
+        return values[index];
+    }
+
+    /**
+     * @param index the index of the slot, 0 being the oldest one.
+     * @return the start time of the slot.
+     */
+    public long getStartTime(final int index) {
+        return (firstSlot + index) * timeSlotSpan;
+    }
+
+    public long getTimeSlotSpan() {
+        return timeSlotSpan;
+    }
+
+    /**
+     * @return the sum of all the slots.
+     */
+    public long sum() {
+        long sum = 0;
+        for (final long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the sum of the slots starting at or after the provided time (ex: the last minute of a merged window).
+     */
+    public long sumSince(final long time) {
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (getStartTime(i) >= time) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Encodes the window: the version, the span, the index of the first slot, the number of slots, then the difference between each slot
+     * value and the previous one, all of them as variable length (zig-zag for the signed ones) integers.
+     */
+    public byte[] toBytes() {
+        final Encoder encoder = new Encoder(16 + values.length * 2);
+        encoder.writeUnsigned(VERSION);
+        encoder.writeUnsigned(timeSlotSpan);
+        encoder.writeSigned(firstSlot);
+        encoder.writeUnsigned(values.length);
+        long previous = 0;
+        for (final long value : values) {
+            encoder.writeSigned(value - previous);
+            previous = value;
+        }
+        return encoder.toBytes();
+    }
+
+    /**
+     * @return the window encoded by {@link #toBytes()}.
+     * @throws IllegalArgumentException if the bytes are not a valid encoded window.
+     */
+    public static LongWindow fromBytes(final byte[] bytes) {
+        final Decoder decoder = new Decoder(bytes);
+        if (decoder.readUnsigned() != VERSION) {
+            throw new IllegalArgumentException("Unsupported version");
+        }
+        final long timeSlotSpan = decoder.readUnsigned();
+        final long firstSlot = decoder.readSigned();
+        final long size = decoder.readUnsigned();
+        if (timeSlotSpan <= 0 || size > bytes.length) {
+            throw new IllegalArgumentException("Invalid window");
+        }
+        final long[] values = new long[(int) size];
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            previous += decoder.readSigned();
+            values[i] = previous;
+        }
+        return new LongWindow(timeSlotSpan, firstSlot, values);
+    }
+
+    private static final class Encoder {
+        private byte[] buffer;
+        private int size;
+
+        Encoder(final int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void writeSigned(final long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void writeUnsigned(final long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                write((byte) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            write((byte) remaining);
+        }
+
+        private void write(final byte value) {
+            if (size == buffer.length) {
+                final byte[] grown = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, grown, 0, size);
+                buffer = grown;
+            }
+            buffer[size++] = value;
+        }
+
+        byte[] toBytes() {
+            final byte[] bytes = new byte[size];
+            System.arraycopy(buffer, 0, bytes, 0, size);
+            return bytes;
+        }
+    }
+
+    private static final class Decoder {
+        private final byte[] bytes;
+        private int position;
+
+        Decoder(final byte[] bytes) {
+            if (bytes == null) {
+                throw new IllegalArgumentException("Invalid window");
+            }
+            this.bytes = bytes;
+        }
+
+        long readSigned() {
+            final long value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readUnsigned() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position == bytes.length) {
+                    throw new IllegalArgumentException("Truncated window");
+                }
+                final byte current = bytes[position++];
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length integer");
+        }
+    }
+}
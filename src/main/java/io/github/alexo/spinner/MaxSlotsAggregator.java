@@ -0,0 +1,13 @@
+package io.github.alexo.spinner;
+
+/**
+ * Incremental aggregator computing the maximum slot value in the window (0 when the window is empty).
+ *
+ * @param <I> type used by each slot.
+ */
+public abstract class MaxSlotsAggregator<I> extends ExtremumSlotsAggregator<I> {
+    @Override
+    final boolean dominates(final long candidate, final long value) {
+        return candidate > value;
+    }
+}
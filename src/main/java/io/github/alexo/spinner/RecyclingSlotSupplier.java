@@ -0,0 +1,20 @@
+package io.github.alexo.spinner;
+
+/**
+ * {@link SlotSupplier} able to reset a slot to its initial state. When the configured supplier implements this interface, the
+ * {@link Spinner} resets the slots evicted from the window and reuses them as new slots, so that the rotation does not allocate once the
+ * window is full. {@link #get()} is called only when no evicted slot is available.
+ * <p/>
+ * A recycled slot is reused as the current slot once it is evicted from the window, so the aggregated data must not reference the slots.
+ * For the same reason, the slots are not recycled by the spinners having listeners (see
+ * {@link SpinnerConfig#addListener(SpinnerListener, java.util.concurrent.Executor, int)}), which read the expired slots later, nor once a
+ * {@link Spinner#snapshot()} is taken, since the snapshot keeps referencing its slots.
+ *
+ * @param <I> the type of the object to keep in the slot.
+ */
+public interface RecyclingSlotSupplier<I> extends SlotSupplier<I> {
+    /**
+     * Brings the evicted slot back to the state of a slot returned by {@link #get()}.
+     */
+    void reset(I slot);
+}
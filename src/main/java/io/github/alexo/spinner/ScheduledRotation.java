@@ -0,0 +1,72 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rotates a spinner from a {@link ScheduledExecutorService}, so that the callers never pay the rotation cost. The task is re-scheduled
+ * after each run for the end of the current slot (instead of using a fixed rate), so that it does not drift away from the slot boundaries
+ * when the executor is late.
+ */
+abstract class ScheduledRotation implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(ScheduledRotation.class);
+    private final ScheduledExecutorService executor;
+    private final Clock clock;
+    private final TimeUnit timeUnit;
+    private volatile ScheduledFuture<?> future;
+    private volatile boolean cancelled;
+
+    /**
+     * @param timeUnit the unit of the time returned by the clock.
+     */
+    ScheduledRotation(final ScheduledExecutorService executor, final Clock clock, final TimeUnit timeUnit) {
+        this.executor = executor;
+        this.clock = clock;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Rotates the spinner if the current slot has expired.
+     */
+    abstract void rotate();
+
+    /**
+     * @return the time when the current slot expires.
+     */
+    abstract long getExpiryTime();
+
+    final void start() {
+        schedule();
+    }
+
+    public final void run() {
+        try {
+            rotate();
+        } catch (final RuntimeException e) {
+            LOG.error("Scheduled rotation failed", e);
+        } finally {
+            if (!cancelled) {
+                schedule();
+            }
+        }
+    }
+
+    final void cancel() {
+        cancelled = true;
+        final ScheduledFuture<?> scheduled = future;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    private void schedule() {
+        final long delay = Math.max(0, getExpiryTime() - clock.now());
+        future = executor.schedule(this, delay, timeUnit);
+    }
+}
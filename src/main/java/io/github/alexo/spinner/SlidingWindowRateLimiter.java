@@ -0,0 +1,178 @@
+package io.github.alexo.spinner;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter allowing at most a given number of permits over a sliding window of <code>slotsNumber * timeSlotSpan</code>. The window
+ * is made of the current slot and the expired slots (as in a {@link LongSpinner}); since the current slot has already covered part of the
+ * window, the oldest expired slot is weighted by the fraction of its span still inside the window.
+ * <p/>
+ * The total of the expired slots is computed once per rotation and published together with the counter of the current slot, so a
+ * decision reads the clock once and performs a single compare and set on that counter, without any lock. The rotation publishes the new
+ * totals before closing the counter of the expired slot, so the threads finding a closed counter simply retry with the new one instead of
+ * waiting. The permits acquired on the expired counter in the meantime are moved to the new counter, so they are never lost; they can
+ * only make the window exceed the limit by the permits acquired concurrently with the rotation.
+ */
+public class SlidingWindowRateLimiter extends AbstractPrimitiveSpinner {
+    /**
+     * Value of the counter of an expired slot, once harvested by the rotation.
+     */
+    private static final long CLOSED = Long.MIN_VALUE;
+    private final long limit;
+    /**
+     * Ring of the permits acquired during the expired slots. Updated only by the rotating thread.
+     */
+    private final long[] slots;
+    private long sequence;
+    private int count;
+    private long runningSum;
+    /**
+     * The totals of the expired slots and the counter of the current slot, published by each rotation.
+     */
+    private volatile Window window;
+
+    /**
+     * @param config the time settings of the window (the slot supplier and aggregator are not required).
+     * @param limit the maximum number of permits in the window.
+     */
+    public static SlidingWindowRateLimiter create(final SpinnerConfig<?, ?> config, final long limit) {
+        final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(config, limit);
+        limiter.startScheduledRotation();
+        return limiter;
+    }
+
+    private SlidingWindowRateLimiter(final SpinnerConfig<?, ?> config, final long limit) {
+        super(config);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be a positive value");
+        }
+        this.limit = limit;
+        slots = new long[config.getSlotsNumber()];
+        window = new Window(0, 0, getStartTime());
+    }
+
+    /**
+     * @return true if one permit was acquired.
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Acquires the permits if this does not exceed the limit of the window.
+     *
+     * @return true if the permits were acquired, false if the limit would be exceeded (in which case nothing is acquired).
+     */
+    public boolean tryAcquire(final long permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be a positive value");
+        }
+        final long now = config.getClock().now();
+        rotateIfRequired(now);
+        for (;;) {
+            final Window current = window;
+            final long acquired = current.acquired.get();
+            if (acquired == CLOSED) {
+                // the new window is already published
+                continue;
+            }
+            if (acquired + permits > limit - current.expiredPermits(now)) {
+                return false;
+            }
+            if (current.acquired.compareAndSet(acquired, acquired + permits)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the estimated number of permits acquired in the window.
+     */
+    public long getAcquired() {
+        final long now = config.getClock().now();
+        rotateIfRequired(now);
+        for (;;) {
+            final Window current = window;
+            final long acquired = current.acquired.get();
+            // once closed, the new window is already published
+            if (acquired != CLOSED) {
+                return current.expiredPermits(now) + acquired;
+            }
+        }
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    @Override
+    void rotate(final long numberOfExpiredSlots) {
+        final Window expired = window;
+        // the permits acquired after this point are moved to the new window
+        final long expiredValue = expired.acquired.get();
+        if (numberOfExpiredSlots > slots.length) {
+            count = 0;
+            runningSum = 0;
+        } else {
+            push(expiredValue);
+            for (int i = 0; i < numberOfExpiredSlots - 1; i++) {
+                push(0);
+            }
+        }
+        final long oldest = count == slots.length ? slots[(int) (sequence % slots.length)] : 0;
+        final Window next = new Window(runningSum, oldest, getStartTime() + timeSlots.durationOf(numberOfExpiredSlots));
+        window = next;
+        final long latePermits = expired.acquired.getAndSet(CLOSED) - expiredValue;
+        if (latePermits != 0) {
+            // the new counter is closed only by the next rotation
+            next.acquired.addAndGet(latePermits);
+        }
+    }
+
+    private void push(final long value) {
+        final int index = (int) (sequence % slots.length);
+        if (count == slots.length) {
+            runningSum -= slots[index];
+        } else {
+            count++;
+        }
+        slots[index] = value;
+        runningSum += value;
+        sequence++;
+    }
+
+    private final class Window {
+        /**
+         * The permits acquired during the current time slot.
+         */
+        final AtomicLong acquired = new AtomicLong();
+        /**
+         * The permits of the expired slots.
+         */
+        final long sum;
+        /**
+         * The value of the oldest slot, or 0 if the window is not full yet.
+         */
+        final long oldest;
+        /**
+         * The start time of the current slot.
+         */
+        final long startTime;
+
+        Window(final long sum, final long oldest, final long startTime) {
+            this.sum = sum;
+            this.oldest = oldest;
+            this.startTime = startTime;
+        }
+
+        /**
+         * @return the permits of the expired slots still in the window, the oldest slot being weighted by the part of its span not yet
+         *         covered by the current slot.
+         */
+        long expiredPermits(final long now) {
+            final long span = config.getTimeSlotSpan();
+            final long elapsed = Math.min(span, Math.max(0, now - startTime));
+            return sum - oldest + (long) Math.ceil((double) oldest * (span - elapsed) / span);
+        }
+    }
+}
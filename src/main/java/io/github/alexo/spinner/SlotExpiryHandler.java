@@ -0,0 +1,15 @@
+package io.github.alexo.spinner;
+
+/**
+ * Notified by the {@link Spinner} about each expired slot, once the updates in progress on it are complete.
+ *
+ * @param <I> the type of the object kept in the slot.
+ */
+interface SlotExpiryHandler<I> {
+    /**
+     * @param slot the expired slot.
+     * @param startTime the start time of the expired slot.
+     * @param nextStartTime the start time of the new current slot (which can be several spans later, if the spinner was idle).
+     */
+    void slotExpired(I slot, long startTime, long nextStartTime);
+}
@@ -0,0 +1,14 @@
+package io.github.alexo.spinner;
+
+/**
+ * Merges the data of a slot into another slot of the same type. Used by {@link CascadingSpinner} to roll up the expired fine-grained
+ * slots into coarser ones.
+ *
+ * @param <I> the type of the object kept in the slot.
+ */
+public interface SlotMerger<I> {
+    /**
+     * Adds the data of the source slot to the target slot. The source slot must not be changed.
+     */
+    void merge(I source, I target);
+}
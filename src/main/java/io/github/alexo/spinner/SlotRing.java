@@ -0,0 +1,130 @@
+package io.github.alexo.spinner;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Fixed size ring holding the expired slots. Unlike a blocking queue, the ring does not use any lock: it is accessed only by the thread
+ * rotating the spinner. For the same reason, the iterator instance is reused, so iterating the slots does not allocate.
+ * <p/>
+ * Each slot is stored together with its sequence (the index of its time slot), so the time slots during which the spinner was idle do not
+ * need any object: they are simply missing from the ring, and the slots falling out of the window are found by comparing their sequence.
+ *
+ * @param <I> the type of the slots.
+ */
+final class SlotRing<I> {
+    private final Object[] slots;
+    private final long[] sequences;
+    /**
+     * Index of the oldest slot.
+     */
+    private int head;
+    private int size;
+    private final WindowIterator windowIterator = new WindowIterator();
+
+    SlotRing(final int capacity) {
+        slots = new Object[capacity];
+        sequences = new long[capacity];
+    }
+
+    /**
+     * Adds the slot as the newest one. The sequence must be greater than the sequence of the slots already added.
+     *
+     * @throws IllegalStateException if the ring is full.
+     */
+    void add(final I slot, final long sequence) {
+        if (size == slots.length) {
+            throw new IllegalStateException("The ring is full");
+        }
+        final int tail = index(size);
+        slots[tail] = slot;
+        sequences[tail] = sequence;
+        size++;
+    }
+
+    /**
+     * Removes the oldest slot if its sequence is lower than the provided one.
+     *
+     * @return the removed slot, or null if there is no slot older than the provided sequence.
+     */
+    @SuppressWarnings("unchecked")
+    I pollOlderThan(final long sequence) {
+        if (size == 0 || sequences[head] >= sequence) {
+            return null;
+        }
+        final I slot = (I) slots[head];
+        slots[head] = null;
+        head = index(1);
+        size--;
+        return slot;
+    }
+
+    /**
+     * @param offset the position of the slot, 0 being the oldest slot.
+     */
+    @SuppressWarnings("unchecked")
+    I get(final int offset) {
+        return (I) slots[index(offset)];
+    }
+
+    /**
+     * @param offset the position of the slot, 0 being the oldest slot.
+     */
+    long getSequence(final int offset) {
+        return sequences[index(offset)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            slots[index(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * @param firstSequence the sequence of the first time slot to iterate.
+     * @param endSequence the sequence following the last time slot to iterate.
+     * @return an iterator over the slots of the provided range, from the oldest to the newest. The time slots missing from the ring are
+     *         skipped. The same instance is returned by every call, so only one iteration can be in progress at a time.
+     */
+    Iterator<I> iterator(final long firstSequence, final long endSequence) {
+        windowIterator.endSequence = endSequence;
+        windowIterator.position = 0;
+        // skip the slots older than the range
+        while (windowIterator.position < size && sequences[index(windowIterator.position)] < firstSequence) {
+            windowIterator.position++;
+        }
+        return windowIterator;
+    }
+
+    private int index(final int offset) {
+        final int index = head + offset;
+        return index < slots.length ? index : index - slots.length;
+    }
+
+    private final class WindowIterator implements Iterator<I> {
+        private long endSequence;
+        private int position;
+
+        public boolean hasNext() {
+            return position < size && sequences[index(position)] < endSequence;
+        }
+
+        @SuppressWarnings("unchecked")
+        public I next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (I) slots[index(position++)];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
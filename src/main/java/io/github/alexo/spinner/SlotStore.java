@@ -0,0 +1,175 @@
+package io.github.alexo.spinner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ring of <code>long</code> slot values used by the primitive spinners, either on the heap or in a memory-mapped file. When mapped, the
+ * values are written directly to the file pages (no serialization step), together with the state needed to resume the window after a
+ * restart.
+ * <p/>
+ * File format (big endian): a 48 bytes header followed by one <code>long</code> per slot.
+ *
+ * <pre>
+ *  0 int  magic
+ *  4 int  version
+ *  8 int  type of the values (see {@link #LONG}, {@link #DOUBLE})
+ * 12 int  slotsNumber
+ * 16 long timeSlotSpan
+ * 24 long start time of the current slot
+ * 32 long sequence of the current slot (number of slots pushed so far)
+ * 40 int  number of expired slots in the window
+ * 44 int  time unit of the clock ({@link TimeUnit#ordinal()})
+ * </pre>
+ */
+final class SlotStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SlotStore.class);
+    static final int LONG = 1;
+    static final int DOUBLE = 2;
+    private static final int MAGIC = 0x53504E52;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 48;
+    private static final int TYPE_OFFSET = 8;
+    private static final int SLOTS_NUMBER_OFFSET = 12;
+    private static final int SPAN_OFFSET = 16;
+    private static final int START_TIME_OFFSET = 24;
+    private static final int SEQUENCE_OFFSET = 32;
+    private static final int COUNT_OFFSET = 40;
+    private static final int TIME_UNIT_OFFSET = 44;
+    private final LongBuffer slots;
+    /**
+     * Null when the store is not mapped.
+     */
+    private final MappedByteBuffer file;
+    private final boolean restored;
+
+    /**
+     * @return a store kept on the heap.
+     */
+    static SlotStore heap(final int slotsNumber) {
+        return new SlotStore(LongBuffer.allocate(slotsNumber), null, false);
+    }
+
+    /**
+     * Maps the file, creating it if required. The state stored in the file is restored only if it was written with the same settings and
+     * its current slot did not start after the provided time (ex: a nanosecond clock restarted by a reboot, or a wall clock set back),
+     * since the window would not move until the clock catches up with it.
+     *
+     * @param timeUnit the unit of the clock, in which the timeSlotSpan and the start time are expressed.
+     * @param now the current time of the clock.
+     * @throws IllegalStateException if the file cannot be mapped.
+     */
+    static SlotStore map(final File file, final int type, final int slotsNumber, final long timeSlotSpan, final TimeUnit timeUnit,
+            final long now) {
+        final MappedByteBuffer buffer;
+        final boolean existing = file.length() == HEADER_SIZE + 8L * slotsNumber;
+        try {
+            final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            try {
+                randomAccessFile.setLength(HEADER_SIZE + 8L * slotsNumber);
+                buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + 8L * slotsNumber);
+            } finally {
+                // the mapping stays valid after the file is closed
+                randomAccessFile.close();
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot map " + file, e);
+        }
+        final boolean restored = existing && isCompatible(buffer, type, slotsNumber, timeSlotSpan, timeUnit, now);
+        if (!restored) {
+            if (existing) {
+                LOG.warn("Ignoring the incompatible state stored in {}", file);
+            }
+            for (int i = 0; i < HEADER_SIZE + 8 * slotsNumber; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(TYPE_OFFSET, type);
+            buffer.putInt(SLOTS_NUMBER_OFFSET, slotsNumber);
+            buffer.putLong(SPAN_OFFSET, timeSlotSpan);
+            buffer.putInt(TIME_UNIT_OFFSET, timeUnit.ordinal());
+        }
+        buffer.position(HEADER_SIZE);
+        final LongBuffer slots = buffer.slice().asLongBuffer();
+        return new SlotStore(slots, buffer, restored);
+    }
+
+    private static boolean isCompatible(final ByteBuffer buffer, final int type, final int slotsNumber, final long timeSlotSpan,
+            final TimeUnit timeUnit, final long now) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(TYPE_OFFSET) != type
+                || buffer.getInt(SLOTS_NUMBER_OFFSET) != slotsNumber || buffer.getLong(SPAN_OFFSET) != timeSlotSpan
+                || buffer.getInt(TIME_UNIT_OFFSET) != timeUnit.ordinal()) {
+            return false;
+        }
+        final long sequence = buffer.getLong(SEQUENCE_OFFSET);
+        final int count = buffer.getInt(COUNT_OFFSET);
+        return count >= 0 && count <= slotsNumber && sequence >= count && buffer.getLong(START_TIME_OFFSET) - now <= 0;
+    }
+
+    private SlotStore(final LongBuffer slots, final MappedByteBuffer file, final boolean restored) {
+        this.slots = slots;
+        this.file = file;
+        this.restored = restored;
+    }
+
+    int size() {
+        return slots.capacity();
+    }
+
+    long get(final int index) {
+        return slots.get(index);
+    }
+
+    void set(final int index, final long value) {
+        slots.put(index, value);
+    }
+
+    /**
+     * @return true if the store was mapped to a file holding the state of a previous spinner.
+     */
+    boolean isRestored() {
+        return restored;
+    }
+
+    long getStartTime() {
+        return file.getLong(START_TIME_OFFSET);
+    }
+
+    long getSequence() {
+        return file.getLong(SEQUENCE_OFFSET);
+    }
+
+    int getCount() {
+        return file.getInt(COUNT_OFFSET);
+    }
+
+    /**
+     * Stores the state of the window, after the slot values were updated. Has no effect when not mapped.
+     */
+    void saveState(final long startTime, final long sequence, final int count) {
+        if (file != null) {
+            file.putLong(START_TIME_OFFSET, startTime);
+            file.putLong(SEQUENCE_OFFSET, sequence);
+            file.putInt(COUNT_OFFSET, count);
+        }
+    }
+
+    /**
+     * Writes the mapped pages to the disk. Has no effect when not mapped.
+     */
+    void force() {
+        if (file != null) {
+            file.force();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.alexo.spinner;
+
+/**
+ * Updates a slot with the data collected for the current moment. Used by {@link Spinner#update(SlotUpdater)}, which guarantees that the
+ * update is applied to exactly one slot even when the spinner is rotated concurrently.
+ *
+ * @param <I> the type of the object kept in the slot.
+ */
+public interface SlotUpdater<I> {
+    /**
+     * @param slot the current slot. Must not be referenced after this method returns.
+     */
+    void update(I slot);
+}
@@ -3,7 +3,8 @@ package io.github.alexo.spinner;
 import java.util.Iterator;
 
 /**
- * Responsible for aggregating the slots into a single result.
+ * Responsible for aggregating the slots into a single result. The iterated slots are the expired slots still in the window, from the
+ * oldest to the newest.
  *
  * @param <I> type used by each slot.
  * @param <O> type of the aggregated value.
@@ -1,17 +1,21 @@
 package io.github.alexo.spinner;
 
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Data structure responsible for managing data based on time slots. The underlying implementation uses a queue to store the expired data
+ * Data structure responsible for managing data based on time slots. The underlying implementation uses a ring to store the expired data
  * slots (a limited number). The spinner is similar to a ring buffer, it rotates/moves one data slot every time the current slot slips by.
  * Besides keeping track of time slots data and rotating the Spinner also aggregates all the slots and this aggregation happens every time
- * it rotates/moves.
+ * it rotates/moves. When the configured aggregator is an {@link IncrementalSlotsAggregator}, it is notified only about the slots entering
+ * and leaving the window, so the rotation does not re-scan all the slots. The time slots during which the spinner was idle have no slot:
+ * the incremental aggregator is notified about each run of them at once, while the other aggregators, which scan the whole window anyway,
+ * iterate a distinct empty slot created for each of them.
  *
  * @param <I> the type of elements (input) used to represent a single slot
  * @param <O> the type of data (output) computed by aggregation function
@@ -21,29 +25,87 @@ import org.slf4j.LoggerFactory;
 public class Spinner<I, O> {
     private static final Logger LOG = LoggerFactory.getLogger(Spinner.class);
     private final SpinnerConfig<I, O> config;
+    private final TimeSlots timeSlots;
     /**
-     * The start time of the current time slot.
+     * The start time of the current time slot. Accessed only by the thread rotating the spinner.
      */
     private long startTime;
     /**
-     * The current slot instance, which is used to collect various data for the current time slot.
+     * The index of the current time slot, counted from the creation of the spinner. Accessed only by the thread rotating the spinner.
      */
-    private volatile I currentSlot;
+    private long sequence;
     /**
-     * Aggregated data based on previously expired slots (which are still stored in this spinner).
+     * The sequence of the oldest time slot of the window: at most slotsNumber before the current one, but never older than the creation
+     * or than the last time all the slots expired at once. Accessed only by the thread rotating the spinner.
      */
-    private volatile O data;
+    private long windowStart;
+    /**
+     * Holds the current slot instance, which is used to collect various data for the current time slot, together with the aggregated data
+     * of the previously expired slots and the expiry time of the slot. Replaced as a whole, so a single volatile read gives a consistent
+     * view of the spinner.
+     */
+    private volatile Generation<I, O> current;
+    /**
+     * The latest expired slot, passed to the aggregator. Accessed only by the thread rotating the spinner.
+     */
+    private I lastExpiredSlot;
     /**
      * Flag used to prevent concurrent slot change.
      */
     private final AtomicBoolean slotIsChanging = new AtomicBoolean();
     /**
-     * Holds the queue of slots.
+     * Holds the expired slots. Accessed only by the thread rotating the spinner.
+     */
+    private final SlotRing<I> queue;
+    /**
+     * Not null when the configured aggregator can be notified about each slot change instead of re-scanning the whole queue.
+     */
+    private final IncrementalSlotsAggregator<I, O> incrementalAggregator;
+    /**
+     * Not null when the slots are rotated by a scheduled task instead of the caller threads.
+     */
+    private final ScheduledRotation scheduledRotation;
+    /**
+     * False when the slots are rotated by a scheduled task, or only through {@link #rotateIfRequired()} by the owner of the spinner.
+     */
+    private final boolean rotatedByCallers;
+    /**
+     * Not null when the expired slots are rolled up into another spinner.
+     */
+    private final SlotExpiryHandler<I> expiryHandler;
+    /**
+     * Not null when the statistics are enabled.
+     */
+    private final SpinnerStats stats;
+    /**
+     * The dispatchers of the listeners registered when the spinner was created, owned by this spinner.
+     */
+    private final List<ListenerDispatcher<I, O>> listeners;
+    /**
+     * Not null when the evicted slots are reset and reused, which requires that no listener can still read them.
+     */
+    private final RecyclingSlotSupplier<I> recyclingSupplier;
+    /**
+     * The evicted slots (already reset) available for reuse. Accessed only by the thread rotating the spinner.
+     */
+    private final List<I> recycledSlots;
+    /**
+     * Set by the first snapshot, which can keep referencing the slots, so they are no longer recycled. Accessed only while holding the
+     * {@link #slotIsChanging} flag.
      */
-    private final Queue<I> queue;
+    private boolean snapshotTaken;
 
     public static <I, O> Spinner<I, O> create(final SpinnerConfig<I, O> config) {
-        return new Spinner<I, O>(config);
+        return new Spinner<I, O>(config, null, false);
+    }
+
+    /**
+     * @param expiryHandler notified about each expired slot, by the thread rotating the spinner.
+     * @param driven true if the spinner is rotated only by {@link #rotateIfRequired()}, the other methods never rotating it.
+     */
+    static <I, O> Spinner<I, O> create(final SpinnerConfig<I, O> config, final SlotExpiryHandler<I> expiryHandler,
+            final boolean driven) {
+        return new Spinner<I, O>(config, expiryHandler, driven);
     }
 
     /**
@@ -56,6 +118,27 @@ public class Spinner<I, O> {
                 return System.currentTimeMillis();
             }
         };
+        /**
+         * Millisecond clock based on {@link System#nanoTime()}, starting from the wall clock time of its initialization. Not affected by
+         * the adjustments of the system time, so a wall clock jump cannot expire all the slots at once.
+         */
+        Clock MONOTONIC = new Clock() {
+            private final long originMillis = System.currentTimeMillis();
+            private final long originNanos = System.nanoTime();
+
+            public long now() {
+                return originMillis + (System.nanoTime() - originNanos) / 1000000;
+            }
+        };
+        /**
+         * Nanosecond clock returning {@link System#nanoTime()}, to be configured using
+         * {@link SpinnerConfig#setClock(Clock, java.util.concurrent.TimeUnit)} with nanoseconds.
+         */
+        Clock NANO = new Clock() {
+            public long now() {
+                return System.nanoTime();
+            }
+        };
 
         long now();
     }
@@ -63,127 +146,477 @@ public class Spinner<I, O> {
     /**
      * @param config {@link SpinnerConfig} used to setup the spinner.
      */
-    private Spinner(final SpinnerConfig<I, O> config) {
+    @SuppressWarnings("unchecked")
+    private Spinner(final SpinnerConfig<I, O> config, final SlotExpiryHandler<I> expiryHandler, final boolean driven) {
         if (config == null) {
             throw new IllegalArgumentException("Invalid config");
         }
         config.validate();
         this.config = config;
+        timeSlots = new TimeSlots(config.getTimeSlotSpan());
+        this.expiryHandler = expiryHandler;
+        stats = config.isStatsEnabled() ? new SpinnerStats() : null;
+        listeners = new ArrayList<ListenerDispatcher<I, O>>();
+        for (final ListenerDispatcher.Registration<I, O> registration : config.getListeners()) {
+            listeners.add(registration.createDispatcher(this));
+        }
+        // the listeners read the expired slots after the rotation, so they cannot be recycled
+        final boolean recycling = listeners.isEmpty() && config.getSlotSupplier() instanceof RecyclingSlotSupplier<?>;
+        recyclingSupplier = recycling ? (RecyclingSlotSupplier<I>) config.getSlotSupplier() : null;
+        recycledSlots = recyclingSupplier != null ? new ArrayList<I>() : null;
         startTime = config.getClock().now();
-        currentSlot = config.getSlotSupplier().get();
-        queue = createQueue(config.getSlotsNumber());
+        final I slot = config.getSlotSupplier().get();
+        queue = new SlotRing<I>(config.getSlotsNumber());
+        final SlotsAggregator<I, O> aggregator = config.getSlotsAggregator();
+        final boolean incremental = aggregator instanceof IncrementalSlotsAggregator<?, ?>;
+        incrementalAggregator = incremental ? (IncrementalSlotsAggregator<I, O>) aggregator : null;
         // compute initial value
-        data = config.getSlotsAggregator().aggregate(queue.iterator(), currentSlot);
+        final O data;
+        if (incrementalAggregator != null) {
+            incrementalAggregator.slotsCleared();
+            data = incrementalAggregator.getAggregated();
+        } else {
+            data = config.getSlotsAggregator().aggregate(queue.iterator(windowStart, sequence), slot);
+        }
+        current = new Generation<I, O>(slot, startTime + timeSlots.getSpan(), data, false);
+        scheduledRotation = config.getRotationExecutor() != null ? createScheduledRotation() : null;
+        rotatedByCallers = scheduledRotation == null && !driven;
+    }
+
+    private ScheduledRotation createScheduledRotation() {
+        final ScheduledRotation rotation = new ScheduledRotation(config.getRotationExecutor(), config.getClock(),
+                config.getTimeUnit()) {
+            @Override
+            void rotate() {
+                changeSlotIfRequired();
+            }
+
+            @Override
+            long getExpiryTime() {
+                return current.deadline;
+            }
+        };
+        rotation.start();
+        return rotation;
     }
 
     /**
-     * The side effect of invoking this method is rotation of the spinner if the time span for the current slot has expired.
+     * The side effect of invoking this method is rotation of the spinner if the time span for the current slot has expired (unless the
+     * rotation is scheduled).
      *
      * @return the slot where the metric should be stored for current moment.
      */
     public I getCurrentSlot() {
-        changeSlotIfRequired();
-        return currentSlot;
+        return (rotatedByCallers ? changeSlotIfRequired() : current).slot;
     }
 
     /**
-     * @return the most recent computed aggregated data.
+     * Applies the update to the current slot. Unlike updating the slot returned by {@link #getCurrentSlot()}, the update is guaranteed to
+     * be applied to exactly one slot and to be visible to the aggregator when that slot expires: a concurrent rotation waits for the
+     * updates in progress on the expired slot to complete before aggregating it. The writers never wait; an update started while the slot
+     * is being replaced is simply retried on the new slot.
+     */
+    public void update(final SlotUpdater<I> updater) {
+        if (rotatedByCallers) {
+            changeSlotIfRequired();
+        }
+        for (;;) {
+            final Generation<I, O> generation = current;
+            generation.writers.incrementAndGet();
+            try {
+                if (generation == current) {
+                    updater.update(generation.slot);
+                    return;
+                }
+            } finally {
+                generation.writers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return the most recent computed aggregated data. With {@link SpinnerConfig#setLazyAggregation(boolean)} enabled, the data is
+     *         aggregated by the first call following a slot change.
      */
     public O getData() {
-        changeSlotIfRequired();
-        return data;
+        final Generation<I, O> generation = rotatedByCallers ? changeSlotIfRequired() : current;
+        if (generation.dirty) {
+            return aggregateIfDirty();
+        }
+        return generation.data;
     }
 
     /**
-     * If the current slot has expired, triggers the slot change operations in a thread safe manner.
+     * @return a consistent view of the slots in the window and of the current slot, with their start times. The view is taken while no
+     *         slot change is in progress.
      */
-    private void changeSlotIfRequired() {
-        if (isSlotExpired()) {
+    public SpinnerSnapshot<I> snapshot() {
+        if (rotatedByCallers) {
+            changeSlotIfRequired();
+        }
+        for (;;) {
             if (slotIsChanging.compareAndSet(false, true)) {
                 try {
-                    if (isSlotExpired()) {
-                        doSlotChange();
+                    return doSnapshot();
+                } finally {
+                    slotIsChanging.set(false);
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    private SpinnerSnapshot<I> doSnapshot() {
+        snapshotTaken = true;
+        final long span = timeSlots.getSpan();
+        // the queue holds only the slots of the window, since they are evicted by the slot change
+        final int size = queue.size() + 1;
+        final Object[] slots = new Object[size];
+        final long[] startTimes = new long[size];
+        for (int i = 0; i < size - 1; i++) {
+            slots[i] = queue.get(i);
+            startTimes[i] = startTime - (sequence - queue.getSequence(i)) * span;
+        }
+        slots[size - 1] = current.slot;
+        startTimes[size - 1] = startTime;
+        return new SpinnerSnapshot<I>(slots, startTimes, span);
+    }
+
+    /**
+     * Aggregates the data while holding the same flag as the slot change, since the slots are accessed only by a single thread at a time.
+     * A reader finding the flag taken waits for the slot change to complete, which is short when the aggregation is deferred.
+     *
+     * @return the aggregated data.
+     */
+    private O aggregateIfDirty() {
+        Generation<I, O> generation;
+        while ((generation = current).dirty) {
+            if (slotIsChanging.compareAndSet(false, true)) {
+                try {
+                    if (current.dirty) {
+                        aggregate();
                     }
                 } finally {
                     slotIsChanging.set(false);
                 }
+            } else {
+                Thread.yield();
             }
         }
+        return generation.data;
+    }
+
+    /**
+     * @return the statistics about the rotations of this spinner, or null if not enabled by {@link SpinnerConfig#setStatsEnabled(boolean)}.
+     */
+    public SpinnerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Stops the scheduled rotation (if a {@link SpinnerConfig#setRotationExecutor(java.util.concurrent.ScheduledExecutorService)} is
+     * configured). Has no effect otherwise.
+     */
+    public void close() {
+        if (scheduledRotation != null) {
+            scheduledRotation.cancel();
+        }
+    }
+
+    /**
+     * Rotates the spinner if the current slot has expired, regardless of the way it is usually rotated.
+     */
+    void rotateIfRequired() {
+        changeSlotIfRequired();
+    }
+
+    /**
+     * If the current slot has expired, triggers the slot change operations in a thread safe manner. Until the deadline of the current
+     * generation, this costs a volatile read and a clock read. Once it is reached, only the first thread noticing it attempts the
+     * rotation; the others do not compete for it and go on with the current generation, so a slot boundary does not make all the threads
+     * contend on the same flag.
+     *
+     * @return the current generation.
+     */
+    private Generation<I, O> changeSlotIfRequired() {
+        final Generation<I, O> generation = current;
+        if (config.getClock().now() - generation.deadline < 0) {
+            return generation;
+        }
+        if (generation.claimRotation()) {
+            // wait for a snapshot or a lazy aggregation in progress
+            while (!slotIsChanging.compareAndSet(false, true)) {
+                Thread.yield();
+            }
+            try {
+                if (isSlotExpired()) {
+                    doSlotChange();
+                } else {
+                    // the clock went backwards
+                    generation.rotationClaimed.set(false);
+                }
+            } finally {
+                slotIsChanging.set(false);
+            }
+        } else if (stats != null) {
+            stats.rotationRaceLost();
+        }
+        return current;
     }
 
     private void doSlotChange() {
+        final long rotationStart = stats != null ? System.nanoTime() : 0;
+        final Generation<I, O> expired = current;
+        final I expiredSlot = expired.slot;
+
+        // compute the start time of the new slot
+        final long expiredStartTime = startTime;
+        final long diff = elapsedTime();
+        final long numberOfExpiredSlots = timeSlots.slotsIn(diff);
+        startTime += timeSlots.durationOf(numberOfExpiredSlots);
+
         // first thing first - move the slot
-        final I expiredSlot = currentSlot;
+        I nextSlot;
         try {
-            currentSlot = config.getSlotSupplier().get();
+            nextSlot = newSlot();
         } catch (final Exception e) {
-            LOG.error("Slot creation failed: {}", e.getMessage());
+            slotSupplierFailed(e);
+            nextSlot = expiredSlot;
         }
+        final boolean lazy = config.isLazyAggregation() && listeners.isEmpty();
+        // the data is published once aggregated
+        current = new Generation<I, O>(nextSlot, startTime + timeSlots.getSpan(), expired.data, lazy);
+        expired.awaitWriters();
 
-        // compute the start time of the new slot
-        final long diff = elapsedTimeMillis();
-        final long numberOfExpiredSlots = diff / config.getTimeSlotSpan();
-        startTime += numberOfExpiredSlots * config.getTimeSlotSpan();
+        final long expiredSequence = sequence;
+        sequence += numberOfExpiredSlots;
 
         // Manage the queue of expired slots:
-        // the expiredSlot must be added and older than configured slotsNumber (expired slots) must be dropped
+        // the expiredSlot must be added and the slots older than configured slotsNumber (expired slots) must be dropped, followed by the
+        // time slots during which the spinner was idle.
         if (numberOfExpiredSlots > config.getSlotsNumber()) {
             // no need to keep expired slots
             queue.clear();
-        } else {
-            if (numberOfExpiredSlots > 1) {
-                // add (numberOfExpiredSlots - 1) empty slots
-                // -1 because the latest expired slot will be added as well
-                try {
-                    final I emptySlot = config.getSlotSupplier().get();
-                    for (int i = 0; i < numberOfExpiredSlots - 1; i++) {
-                        queue.add(emptySlot);
-                    }
-                } catch (final Exception e) {
-                    LOG.error("Slot creation failed: {}", e.getMessage());
-                }
+            windowStart = sequence;
+            if (incrementalAggregator != null) {
+                incrementalAggregator.slotsCleared();
             }
-            queue.add(expiredSlot);
+        } else {
+            evictSlotsOlderThan(sequence - config.getSlotsNumber());
+            addSlot(expiredSlot, expiredSequence);
+            addIdleSlots(expiredSequence + 1);
         }
 
         // compute the aggregated data
-        data = config.getSlotsAggregator().aggregate(queue.iterator(), expiredSlot);
+        lastExpiredSlot = expiredSlot;
+        if (!lazy) {
+            aggregate();
+        }
+        if (stats != null) {
+            stats.rotated(numberOfExpiredSlots, numberOfExpiredSlots > config.getSlotsNumber(), System.nanoTime() - rotationStart);
+        }
+        for (final ListenerDispatcher<I, O> listener : listeners) {
+            if (!listener.publish(expiredSlot, expiredStartTime, current.data) && stats != null) {
+                stats.listenerEventDropped();
+            }
+        }
+        if (expiryHandler != null) {
+            try {
+                expiryHandler.slotExpired(expiredSlot, expiredStartTime, startTime);
+            } catch (final RuntimeException e) {
+                LOG.error("Slot expiry handler failed", e);
+            }
+        }
+    }
+
+    /**
+     * Computes the data from the slots currently in the window. Must be called by the thread rotating the spinner.
+     */
+    private void aggregate() {
+        final long aggregationStart = stats != null ? System.nanoTime() : 0;
+        final O data;
+        if (incrementalAggregator != null) {
+            data = incrementalAggregator.getAggregated();
+        } else {
+            data = config.getSlotsAggregator().aggregate(queue.iterator(windowStart, sequence), lastExpiredSlot);
+        }
+        current = current.withData(data);
+        if (stats != null) {
+            stats.aggregated(System.nanoTime() - aggregationStart);
+        }
         if (LOG.isDebugEnabled()) {
             LOG.debug("aggregated: {}", data);
         }
     }
 
+    private void slotSupplierFailed(final Exception e) {
+        LOG.error("Slot creation failed: {}", e.getMessage());
+        if (stats != null) {
+            stats.slotSupplierFailed();
+        }
+    }
+
+    /**
+     * @return a recycled slot if available, a new one otherwise.
+     */
+    private I newSlot() {
+        if (recyclingSupplier != null && !recycledSlots.isEmpty()) {
+            return recycledSlots.remove(recycledSlots.size() - 1);
+        }
+        return config.getSlotSupplier().get();
+    }
+
+    /**
+     * Removes the time slots which are no longer part of the window, notifying the incremental aggregator (if any) about each of them. A
+     * run of idle time slots is evicted at once, so the cost does not depend on the length of the run.
+     *
+     * @param oldestSequence the sequence of the oldest time slot of the window.
+     */
+    private void evictSlotsOlderThan(final long oldestSequence) {
+        while (windowStart < oldestSequence) {
+            final I evictedSlot = queue.pollOlderThan(windowStart + 1);
+            if (evictedSlot == null) {
+                // idle time slots, up to the oldest stored slot
+                final long idleEnd = queue.size() == 0 ? oldestSequence : Math.min(queue.getSequence(0), oldestSequence);
+                if (incrementalAggregator != null) {
+                    incrementalAggregator.skippedSlotsEvicted((int) (idleEnd - windowStart));
+                }
+                windowStart = idleEnd;
+            } else {
+                if (incrementalAggregator != null) {
+                    incrementalAggregator.slotEvicted(evictedSlot);
+                }
+                if (recyclingSupplier != null && !snapshotTaken) {
+                    recycle(evictedSlot);
+                }
+                windowStart++;
+            }
+        }
+    }
+
+    /**
+     * Adds the slot to the queue, notifying the incremental aggregator (if any).
+     */
+    private void addSlot(final I slot, final long slotSequence) {
+        if (incrementalAggregator != null) {
+            incrementalAggregator.slotAdded(slot);
+        }
+        queue.add(slot, slotSequence);
+    }
+
+    /**
+     * Adds the time slots during which the spinner was idle, from the provided sequence up to the current one. The incremental aggregator
+     * is notified about the whole run at once. Otherwise, each of them gets a distinct empty slot, since the aggregator iterates the whole
+     * window anyway; if a slot cannot be created, the remaining time slots are left out of the window.
+     */
+    private void addIdleSlots(final long firstSequence) {
+        if (firstSequence == sequence) {
+            return;
+        }
+        if (incrementalAggregator != null) {
+            incrementalAggregator.slotsSkipped((int) (sequence - firstSequence));
+            return;
+        }
+        for (long idle = firstSequence; idle < sequence; idle++) {
+            final I emptySlot;
+            try {
+                emptySlot = newSlot();
+            } catch (final Exception e) {
+                slotSupplierFailed(e);
+                return;
+            }
+            queue.add(emptySlot, idle);
+        }
+    }
+
+    /**
+     * Resets the evicted slot and keeps it for reuse. No more than slotsNumber slots are kept, since there are never more slots in use.
+     */
+    private void recycle(final I slot) {
+        if (recycledSlots.size() < config.getSlotsNumber()) {
+            try {
+                recyclingSupplier.reset(slot);
+                recycledSlots.add(slot);
+            } catch (final RuntimeException e) {
+                LOG.error("Slot reset failed: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * @return true if the time associated with the current slot has passed
      */
     private boolean isSlotExpired() {
-        return elapsedTimeMillis() >= config.getTimeSlotSpan();
+        return elapsedTime() >= timeSlots.getSpan();
     }
 
     /**
      * @return the time lapsed since the beginning of the current time slot; used to decide if the current slot must be changed
      */
-    private long elapsedTimeMillis() {
+    private long elapsedTime() {
         return config.getClock().now() - startTime;
     }
 
     /**
-     * @return the Queue holding the slots. The queue will take care of evicting a slot every time a new slot is added and the queue is
-     *         full.
+     * Immutable record of a slot together with the number of {@link Spinner#update(SlotUpdater)} calls in progress on it, the time when it
+     * expires and the data aggregated when the previous slot expired. Once aggregated, the data is published by a copy of the record
+     * sharing the writers and the rotation flag of the original.
      */
-    @SuppressWarnings("serial")
-    private Queue<I> createQueue(final int queueSize) {
-        // TODO this does not need to be thread safe
-        return new ArrayBlockingQueue<I>(queueSize) {
-            @Override
-            public boolean add(final I slot) {
-                if (remainingCapacity() == 0) {
-                    // evict one when the queue is full.
-                    poll();
-                }
-                return super.add(slot);
+    private static final class Generation<I, O> {
+        final I slot;
+        final AtomicInteger writers;
+        final long deadline;
+        final O data;
+        /**
+         * True when the data must be aggregated before being read (used only by the lazy aggregation).
+         */
+        final boolean dirty;
+        /**
+         * Set by the first thread noticing the expiry of the slot.
+         */
+        final AtomicBoolean rotationClaimed;
+
+        Generation(final I slot, final long deadline, final O data, final boolean dirty) {
+            this(slot, new AtomicInteger(), deadline, data, dirty, new AtomicBoolean());
+        }
+
+        private Generation(final I slot, final AtomicInteger writers, final long deadline, final O data, final boolean dirty,
+                final AtomicBoolean rotationClaimed) {
+            this.slot = slot;
+            this.writers = writers;
+            this.deadline = deadline;
+            this.data = data;
+            this.dirty = dirty;
+            this.rotationClaimed = rotationClaimed;
+        }
+
+        Generation<I, O> withData(final O aggregated) {
+            return new Generation<I, O>(slot, writers, deadline, aggregated, false, rotationClaimed);
+        }
+
+        /**
+         * @return true if the calling thread is the first one to attempt the rotation of this generation.
+         */
+        boolean claimRotation() {
+            // read first, so that the threads coming late do not write the contended cache line
+            return !rotationClaimed.get() && rotationClaimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Waits for the updates in progress to complete. Once the generation is replaced, no new update can start, so the wait is short.
+         */
+        void awaitWriters() {
+            while (writers.get() != 0) {
+                Thread.yield();
             }
-        };
+        }
+    }
+
+    /**
+     * @return the start time of the current slot.
+     */
+    long getStartTime() {
+        return startTime;
     }
 
     /**
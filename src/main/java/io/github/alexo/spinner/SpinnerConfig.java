@@ -2,6 +2,12 @@ package io.github.alexo.spinner;
 
 import io.github.alexo.spinner.Spinner.Clock;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Holds Spinner slot related settings.
  *
@@ -18,6 +24,10 @@ public class SpinnerConfig<I, O> {
      * {@link #setTimeSpan(long)}
      */
     private long timeSlotSpan = DEFAULT_TIME_SLOT_SPAN;
+    /**
+     * {@link #setTimeSlotSpan(long, TimeUnit)}
+     */
+    private TimeUnit timeSlotSpanUnit = TimeUnit.MILLISECONDS;
     /**
      * {@link #setSlotSupplier(Supplier)}
      */
@@ -30,6 +40,30 @@ public class SpinnerConfig<I, O> {
      * {@link #setClock(Clock)}
      */
     private Clock clock = Clock.WALL;
+    /**
+     * {@link #setClock(Clock, TimeUnit)}
+     */
+    private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
+    /**
+     * {@link #setStriped(boolean)}
+     */
+    private boolean striped;
+    /**
+     * {@link #setRotationExecutor(ScheduledExecutorService)}
+     */
+    private ScheduledExecutorService rotationExecutor;
+    /**
+     * {@link #setStatsEnabled(boolean)}
+     */
+    private boolean statsEnabled;
+    /**
+     * {@link #setLazyAggregation(boolean)}
+     */
+    private boolean lazyAggregation;
+    /**
+     * {@link #addListener(SpinnerListener, Executor, int)}
+     */
+    private final List<ListenerDispatcher.Registration<I, O>> listeners = new ArrayList<ListenerDispatcher.Registration<I, O>>();
 
     /**
      * Check if all provided configurations are valid.
@@ -37,21 +71,48 @@ public class SpinnerConfig<I, O> {
     public void validate() {
         notNull(slotSupplier);
         notNull(slotsAggregator);
+        validateGeometry();
+    }
+
+    /**
+     * Check only the settings describing the time slots (used by the spinners which do not need a supplier and an aggregator).
+     */
+    void validateGeometry() {
         notNull(clock);
-        isTrue(timeSlotSpan > 0, "timeSlotSpan must be a positive value");
+        isTrue(getTimeSlotSpan() > 0, "timeSlotSpan must be at least one unit of the clock");
+        // the conversion truncates (ex: 1500 microseconds with a millisecond clock) and saturates on overflow
+        isTrue(timeSlotSpanUnit.convert(getTimeSlotSpan(), timeUnit) == timeSlotSpan,
+                "timeSlotSpan must be a whole number of units of the clock");
         isTrue(slotsNumber > 0, "slotsNumber must be a positive value");
     }
 
     /**
-     * Useful for unit testing slot holder behavior.
+     * Useful for unit testing slot holder behavior. The clock must return milliseconds.
      *
      * @VisibleForTesting
      */
     public SpinnerConfig<I, O> setClock(final Clock clock) {
+        return setClock(clock, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets a clock returning the time in the provided unit. Use {@link Clock#NANO} with {@link TimeUnit#NANOSECONDS} for time slots
+     * shorter than a millisecond.
+     */
+    public SpinnerConfig<I, O> setClock(final Clock clock, final TimeUnit unit) {
+        notNull(unit);
         this.clock = clock;
+        this.timeUnit = unit;
         return this;
     }
 
+    /**
+     * @return the unit of the time returned by the clock (milliseconds by default).
+     */
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
     /**
      * @VisibleForTesting
      */
@@ -77,7 +138,8 @@ public class SpinnerConfig<I, O> {
 
     /**
      * Responsible for computing aggregated result for a collection of provided input slots. The implementation should return a non empty
-     * result, even if the provided input is an empty iterator.
+     * result, even if the provided input is an empty iterator. Use an {@link IncrementalSlotsAggregator} to avoid re-scanning all the slots
+     * on every rotation.
      */
     public SpinnerConfig<I, O> setSlotsAggregator(final SlotsAggregator<I, O> slotsAggregator) {
         this.slotsAggregator = slotsAggregator;
@@ -97,19 +159,112 @@ public class SpinnerConfig<I, O> {
         return this;
     }
 
+    /**
+     * @return the time a single slot lasts, in the unit of the clock (see {@link #getTimeUnit()}).
+     */
     public long getTimeSlotSpan() {
-        return timeSlotSpan;
+        return timeUnit.convert(timeSlotSpan, timeSlotSpanUnit);
     }
 
     /**
      * @param timeSlotSpan the number of milliseconds a single slot lasts (1000 milliseconds by default).
      */
     public SpinnerConfig<I, O> setTimeSlotSpan(final long timeSlotSpan) {
+        return setTimeSlotSpan(timeSlotSpan, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param timeSlotSpan the time a single slot lasts, in the provided unit. The span must be a whole number of units of the clock (ex: a
+     *        nanosecond clock is required for a 50 microseconds span). When the span converted to the unit of the clock is a power of two,
+     *        the rotation uses shifts instead of divisions.
+     */
+    public SpinnerConfig<I, O> setTimeSlotSpan(final long timeSlotSpan, final TimeUnit unit) {
         isTrue(timeSlotSpan > 0, "timeSlotSpan must be a positive value");
+        notNull(unit);
         this.timeSlotSpan = timeSlotSpan;
+        this.timeSlotSpanUnit = unit;
+        return this;
+    }
+
+    public boolean isStriped() {
+        return striped;
+    }
+
+    /**
+     * When enabled, the current slot of the primitive spinners ({@link LongSpinner}, {@link DoubleSpinner}) is split into several cells
+     * (one per processor, padded against false sharing), each thread updating its own cell. The cells are folded into a single value only
+     * when the slot is rotated. Useful when many threads update the same spinner; disabled by default.
+     */
+    public SpinnerConfig<I, O> setStriped(final boolean striped) {
+        this.striped = striped;
+        return this;
+    }
+
+    public ScheduledExecutorService getRotationExecutor() {
+        return rotationExecutor;
+    }
+
+    /**
+     * When set, the slots are rotated (and the data aggregated) by a task scheduled on the provided executor at the end of each slot,
+     * instead of being rotated by the caller thread which first notices the slot expiration. Reading the current slot or the data becomes
+     * a plain volatile read. The same executor can be shared by many spinners. The spinners using it must be closed when no longer needed.
+     */
+    public SpinnerConfig<I, O> setRotationExecutor(final ScheduledExecutorService rotationExecutor) {
+        this.rotationExecutor = rotationExecutor;
         return this;
     }
 
+    public boolean isStatsEnabled() {
+        return statsEnabled;
+    }
+
+    /**
+     * When enabled, the {@link Spinner} collects {@link SpinnerStats} about its own rotations. Disabled by default, in which case no
+     * statistic is collected at all.
+     */
+    public SpinnerConfig<I, O> setStatsEnabled(final boolean statsEnabled) {
+        this.statsEnabled = statsEnabled;
+        return this;
+    }
+
+    public boolean isLazyAggregation() {
+        return lazyAggregation;
+    }
+
+    /**
+     * When enabled, the {@link Spinner} does not aggregate the slots on each slot change, but only when {@link Spinner#getData()} is
+     * called after a slot change, at most once per slot. Useful when the data is read much less often than the slots change (ex: a
+     * one second slot read once per minute); disabled by default.
+     */
+    public SpinnerConfig<I, O> setLazyAggregation(final boolean lazyAggregation) {
+        this.lazyAggregation = lazyAggregation;
+        return this;
+    }
+
+    /**
+     * Registers a listener notified about each rotation of the {@link Spinner}, with the expired slot and the new aggregated data, so the
+     * data can be exported without polling {@link Spinner#getData()} (ex: to push every slot to a metrics backend). The rotations are
+     * handed over to the executor through a bounded queue, without blocking: when the listener does not keep up and the queue is full, the
+     * rotations are dropped (and counted by the {@link SpinnerStats}). When a listener is registered, the data is aggregated on each
+     * rotation, even if the lazy aggregation is enabled.
+     * <p/>
+     * The listener receives the rotations of all the spinners created with this configuration after its registration, each spinner having
+     * its own queue. The slots of these spinners are not recycled (see {@link RecyclingSlotSupplier}), since the listener reads them after
+     * the rotation.
+     *
+     * @param executor runs the listener, one rotation at a time. The task is submitted by the rotating thread, so the executor should hand
+     *        it over to another thread: an executor running the tasks in the calling thread runs the listener within the rotation.
+     * @param queueCapacity the maximum number of rotations of each spinner waiting to be delivered.
+     */
+    public SpinnerConfig<I, O> addListener(final SpinnerListener<I, O> listener, final Executor executor, final int queueCapacity) {
+        listeners.add(new ListenerDispatcher.Registration<I, O>(listener, executor, queueCapacity));
+        return this;
+    }
+
+    List<ListenerDispatcher.Registration<I, O>> getListeners() {
+        return listeners;
+    }
+
     /**
      * <p>
      * Validate that the argument condition is <code>true</code>; otherwise throwing an exception with the specified message. This method is
@@ -0,0 +1,22 @@
+package io.github.alexo.spinner;
+
+/**
+ * Receives the result of each rotation of a {@link Spinner}: the expired slot together with the data aggregated once it was added to the
+ * window. Registered using {@link SpinnerConfig#addListener(SpinnerListener, java.util.concurrent.Executor, int)}, the listener is invoked
+ * by the provided executor, in the order of the rotations of each spinner. The rotating thread only submits the delivery to the executor,
+ * so the listener does not delay the rotation unless the executor runs the tasks in the calling thread. When several spinners are created
+ * with the same configuration, each of them delivers its rotations separately (possibly concurrently), identified by the spinner argument.
+ *
+ * @param <I> the type of the object kept in the slot.
+ * @param <O> the type of the aggregated data.
+ */
+public interface SpinnerListener<I, O> {
+    /**
+     * @param spinner the rotated spinner.
+     * @param slot the expired slot. It must not be changed. The slots of a spinner having listeners are never reused by a
+     *        {@link RecyclingSlotSupplier}, so the slot can be read even after it left the window.
+     * @param startTime the start time of the expired slot.
+     * @param data the data aggregated after the slot expired.
+     */
+    void rotated(Spinner<I, O> spinner, I slot, long startTime, O data);
+}
@@ -0,0 +1,261 @@
+package io.github.alexo.spinner;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds a rolling window of <code>long</code> counters for each key of a large set of keys (ex: one per endpoint or tenant). All the
+ * windows share the same {@link SpinnerConfig} and the same clock tick, and are rotated together in a single pass.
+ * <p/>
+ * The slots are stored in a columnar layout: one <code>long[]</code> per slot position, indexed by the row assigned to a key. The rows are
+ * assigned lazily when a key is first updated, and released when a key stays idle for a whole window. The maximum number of keys is fixed
+ * at creation time.
+ *
+ * @param <K> the type of the keys.
+ */
+public class SpinnerRegistry<K> extends AbstractPrimitiveSpinner {
+    private final ConcurrentMap<K, Integer> rows = new ConcurrentHashMap<K, Integer>();
+    /**
+     * The key owning each row, null when the row is free.
+     */
+    private final AtomicReferenceArray<K> rowKeys;
+    /**
+     * The current slot of each row.
+     */
+    private final AtomicLongArray currentSlots;
+    /**
+     * Ring of expired slots: one column per slot position, each column holding a value per row. Updated only by the rotating thread.
+     */
+    private final long[][] columns;
+    /**
+     * Sum of the expired slots of each row, while being rotated. Updated only by the rotating thread.
+     */
+    private final long[] sums;
+    /**
+     * Sum of the expired slots of each row, published once the rotation is complete, so that the readers never see a partially rotated
+     * sum.
+     */
+    private final AtomicLongArray publishedSums;
+    /**
+     * The sequence number of the last expired slot holding a non zero value, for each row.
+     */
+    private final long[] lastActive;
+    /**
+     * Guards the rows allocation.
+     */
+    private final Object lock = new Object();
+    /**
+     * Rows ready to be reused.
+     */
+    private final int[] freeRows;
+    private int freeRowsCount;
+    /**
+     * Rows released during the last rotation, which will be reused only after the next one.
+     */
+    private final int[] quarantinedRows;
+    private int quarantinedRowsCount;
+    /**
+     * The number of rows allocated so far; rows above this index were never used.
+     */
+    private volatile int allocatedRows;
+    /**
+     * The total number of columns added to the ring.
+     */
+    private long sequence;
+    /**
+     * The number of expired slots currently in the window.
+     */
+    private int count;
+
+    /**
+     * @param config the settings of the windows; only the time related settings are used.
+     * @param capacity the maximum number of keys.
+     */
+    public static <K> SpinnerRegistry<K> create(final SpinnerConfig<?, ?> config, final int capacity) {
+        final SpinnerRegistry<K> registry = new SpinnerRegistry<K>(config, capacity);
+        registry.startScheduledRotation();
+        return registry;
+    }
+
+    private SpinnerRegistry(final SpinnerConfig<?, ?> config, final int capacity) {
+        super(config);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be a positive value");
+        }
+        rowKeys = new AtomicReferenceArray<K>(capacity);
+        currentSlots = new AtomicLongArray(capacity);
+        columns = new long[config.getSlotsNumber()][capacity];
+        sums = new long[capacity];
+        publishedSums = new AtomicLongArray(capacity);
+        lastActive = new long[capacity];
+        freeRows = new int[capacity];
+        quarantinedRows = new int[capacity];
+    }
+
+    /**
+     * Adds the value to the current slot of the window associated with the key, creating the window if required.
+     *
+     * @throws IllegalStateException if the window must be created and the registry is full.
+     */
+    public void add(final K key, final long value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        rotateIfRequired();
+        for (;;) {
+            final int row = rowOf(key);
+            currentSlots.addAndGet(row, value);
+            if (key.equals(rowKeys.get(row))) {
+                return;
+            }
+            // the row was released concurrently, undo and retry with a new row
+            currentSlots.addAndGet(row, -value);
+        }
+    }
+
+    public void increment(final K key) {
+        add(key, 1);
+    }
+
+    /**
+     * @return the sum of the expired slots of the window associated with the key (0 for an unknown key).
+     */
+    public long sum(final K key) {
+        rotateIfRequired();
+        final Integer row = rows.get(key);
+        if (row == null) {
+            return 0;
+        }
+        return publishedSums.get(row);
+    }
+
+    /**
+     * @return the keys currently having a window.
+     */
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(rows.keySet());
+    }
+
+    /**
+     * @return the number of keys currently having a window.
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    private int rowOf(final K key) {
+        final Integer row = rows.get(key);
+        return row != null ? row : allocateRow(key);
+    }
+
+    private int allocateRow(final K key) {
+        synchronized (lock) {
+            final Integer existing = rows.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            final int row;
+            if (freeRowsCount > 0) {
+                row = freeRows[--freeRowsCount];
+            } else if (allocatedRows < rowKeys.length()) {
+                row = allocatedRows++;
+            } else {
+                throw new IllegalStateException("The registry is full: " + rowKeys.length() + " keys");
+            }
+            rowKeys.set(row, key);
+            rows.put(key, row);
+            return row;
+        }
+    }
+
+    @Override
+    void rotate(final long numberOfExpiredSlots) {
+        final int rowsNumber = allocatedRows;
+        releaseQuarantinedRows();
+        if (numberOfExpiredSlots > columns.length) {
+            for (int row = 0; row < rowsNumber; row++) {
+                currentSlots.getAndSet(row, 0);
+                sums[row] = 0;
+            }
+            count = 0;
+            sequence += numberOfExpiredSlots;
+        } else {
+            // the expired slot is the oldest one, followed by the slots elapsed without any update
+            push(rowsNumber, true);
+            for (int i = 0; i < numberOfExpiredSlots - 1; i++) {
+                push(rowsNumber, false);
+            }
+        }
+        releaseIdleRows(rowsNumber);
+        for (int row = 0; row < rowsNumber; row++) {
+            publishedSums.set(row, sums[row]);
+        }
+    }
+
+    /**
+     * Adds a column to the ring, evicting the oldest one if the window is full.
+     *
+     * @param harvest true if the column must be filled with the current slots (resetting them), false for an empty column.
+     */
+    private void push(final int rowsNumber, final boolean harvest) {
+        final long[] column = columns[(int) (sequence % columns.length)];
+        final boolean full = count == columns.length;
+        for (int row = 0; row < rowsNumber; row++) {
+            final long evicted = full ? column[row] : 0;
+            final long value = harvest ? currentSlots.getAndSet(row, 0) : 0;
+            column[row] = value;
+            sums[row] += value - evicted;
+            if (value != 0) {
+                lastActive[row] = sequence;
+            }
+        }
+        if (!full) {
+            count++;
+        }
+        sequence++;
+    }
+
+    /**
+     * Releases the rows of the keys which had no activity during the whole window. The released rows are reused only after the next
+     * rotation, so that a concurrent writer still using a released row can detect it.
+     */
+    private void releaseIdleRows(final int rowsNumber) {
+        for (int row = 0; row < rowsNumber; row++) {
+            final K key = rowKeys.get(row);
+            if (key != null && sequence - lastActive[row] > columns.length) {
+                rowKeys.set(row, null);
+                if (currentSlots.get(row) != 0) {
+                    // updated concurrently, keep it
+                    rowKeys.set(row, key);
+                } else {
+                    synchronized (lock) {
+                        rows.remove(key);
+                        quarantinedRows[quarantinedRowsCount++] = row;
+                    }
+                }
+            }
+        }
+    }
+
+    private void releaseQuarantinedRows() {
+        synchronized (lock) {
+            for (int i = 0; i < quarantinedRowsCount; i++) {
+                final int row = quarantinedRows[i];
+                currentSlots.set(row, 0);
+                for (final long[] column : columns) {
+                    column[row] = 0;
+                }
+                sums[row] = 0;
+                // the row can be assigned to a new key before the end of the rotation
+                publishedSums.set(row, 0);
+                lastActive[row] = sequence;
+                freeRows[freeRowsCount++] = row;
+            }
+            quarantinedRowsCount = 0;
+        }
+    }
+}
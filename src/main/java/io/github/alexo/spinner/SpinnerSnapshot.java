@@ -0,0 +1,62 @@
+package io.github.alexo.spinner;
+
+/**
+ * Immutable view of the slots of a {@link Spinner} at a given moment, each slot being annotated with its start time. The slots are ordered
+ * from the oldest to the newest, the last one being the current slot. The time slots during which the spinner was idle have no slot when
+ * the aggregator is an {@link IncrementalSlotsAggregator}, so they are missing from the view (the start times reveal the gaps).
+ * <p/>
+ * Only the references to the slots are copied, not their content. The current slot can still be updated after the snapshot is taken, and
+ * so can the expired slots if they are updated through {@link Spinner#getCurrentSlot()} instead of {@link Spinner#update(SlotUpdater)}.
+ * Since a snapshot may hold the slots for any time, a spinner stops recycling the evicted slots (see {@link RecyclingSlotSupplier}) once
+ * a snapshot is taken, so a slot of the view is never reset nor reused as the current slot.
+ *
+ * @param <I> the type of the object kept in the slot.
+ */
+public class SpinnerSnapshot<I> {
+    private final Object[] slots;
+    private final long[] startTimes;
+    private final long timeSlotSpan;
+
+    SpinnerSnapshot(final Object[] slots, final long[] startTimes, final long timeSlotSpan) {
+        this.slots = slots;
+        this.startTimes = startTimes;
+        this.timeSlotSpan = timeSlotSpan;
+    }
+
+    /**
+     * @return the number of slots, including the current one.
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * @param index the index of the slot, 0 being the oldest one.
+     */
+    @SuppressWarnings("unchecked")
+    public I getSlot(final int index) {
+        return (I) slots[index];
+    }
+
+    /**
+     * @param index the index of the slot, 0 being the oldest one.
+     * @return the time when the slot started.
+     */
+    public long getStartTime(final int index) {
+        return startTimes[index];
+    }
+
+    /**
+     * @return the current slot.
+     */
+    public I getCurrentSlot() {
+        return getSlot(slots.length - 1);
+    }
+
+    /**
+     * @return the duration of each slot.
+     */
+    public long getTimeSlotSpan() {
+        return timeSlotSpan;
+    }
+}
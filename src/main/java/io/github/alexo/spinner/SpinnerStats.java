@@ -0,0 +1,154 @@
+package io.github.alexo.spinner;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Statistics about the rotations of a {@link Spinner}, collected only when {@link SpinnerConfig#setStatsEnabled(boolean)} is enabled. The
+ * counters are updated by the rotating thread (except the lost races and the supplier failures), so their cost is paid once per slot
+ * change rather than on each update.
+ */
+public class SpinnerStats implements SpinnerStatsMBean {
+    /**
+     * The highest tracked latency, in nanoseconds.
+     */
+    private static final long MAX_LATENCY = 60L * 1000 * 1000 * 1000;
+    private final AtomicLong rotations = new AtomicLong();
+    private final AtomicLong gapRotations = new AtomicLong();
+    private final AtomicLong clearRotations = new AtomicLong();
+    private final AtomicLong lostRotationRaces = new AtomicLong();
+    private final AtomicLong slotSupplierFailures = new AtomicLong();
+    private final AtomicLong droppedListenerEvents = new AtomicLong();
+    private final Histogram rotationLatency = Histogram.create(MAX_LATENCY, 2);
+    private final Histogram aggregationLatency = Histogram.create(MAX_LATENCY, 2);
+
+    SpinnerStats() {
+    }
+
+    /**
+     * @param expiredSlots the number of slots expired by the rotation.
+     * @param cleared true if all the slots were expired, so the queue was cleared.
+     */
+    void rotated(final long expiredSlots, final boolean cleared, final long rotationNanos) {
+        rotations.incrementAndGet();
+        if (cleared) {
+            clearRotations.incrementAndGet();
+        } else if (expiredSlots > 1) {
+            gapRotations.incrementAndGet();
+        }
+        rotationLatency.record(rotationNanos);
+    }
+
+    void aggregated(final long aggregationNanos) {
+        aggregationLatency.record(aggregationNanos);
+    }
+
+    /**
+     * Called when a thread noticing the slot expiration does not rotate the spinner, because another thread is already doing it.
+     */
+    void rotationRaceLost() {
+        lostRotationRaces.incrementAndGet();
+    }
+
+    void slotSupplierFailed() {
+        slotSupplierFailures.incrementAndGet();
+    }
+
+    /**
+     * Called when a rotation is not delivered to a {@link SpinnerListener}, because its queue is full.
+     */
+    void listenerEventDropped() {
+        droppedListenerEvents.incrementAndGet();
+    }
+
+    /**
+     * @return the number of slot changes.
+     */
+    public long getRotations() {
+        return rotations.get();
+    }
+
+    /**
+     * @return the number of slot changes which expired more than one slot (but not all of them).
+     */
+    public long getGapRotations() {
+        return gapRotations.get();
+    }
+
+    /**
+     * @return the number of slot changes which expired all the slots.
+     */
+    public long getClearRotations() {
+        return clearRotations.get();
+    }
+
+    /**
+     * @return the number of times a thread found the slot expired while another thread was rotating it.
+     */
+    public long getLostRotationRaces() {
+        return lostRotationRaces.get();
+    }
+
+    /**
+     * @return the number of failed {@link SlotSupplier#get()} calls.
+     */
+    public long getSlotSupplierFailures() {
+        return slotSupplierFailures.get();
+    }
+
+    /**
+     * @return the number of rotations not delivered to a {@link SpinnerListener}, because it did not keep up.
+     */
+    public long getDroppedListenerEvents() {
+        return droppedListenerEvents.get();
+    }
+
+    /**
+     * @return a copy of the histogram of the slot change durations, in nanoseconds.
+     */
+    public Histogram getRotationLatency() {
+        return rotationLatency.copy();
+    }
+
+    /**
+     * @return a copy of the histogram of the aggregation durations (part of the slot change, unless the aggregation is lazy), in
+     *         nanoseconds.
+     */
+    public Histogram getAggregationLatency() {
+        return aggregationLatency.copy();
+    }
+
+    public long getRotationLatencyP50() {
+        return rotationLatency.getValueAtPercentile(50);
+    }
+
+    public long getRotationLatencyP99() {
+        return rotationLatency.getValueAtPercentile(99);
+    }
+
+    public long getRotationLatencyMax() {
+        return rotationLatency.getMaxValue();
+    }
+
+    public long getAggregationLatencyP99() {
+        return aggregationLatency.getValueAtPercentile(99);
+    }
+
+    public long getAggregationLatencyMax() {
+        return aggregationLatency.getMaxValue();
+    }
+
+    /**
+     * Registers these statistics in the platform MBean server.
+     */
+    public void registerMBean(final ObjectName name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+    }
+
+    public void unregisterMBean(final ObjectName name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+}
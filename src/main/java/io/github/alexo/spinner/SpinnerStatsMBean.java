@@ -0,0 +1,28 @@
+package io.github.alexo.spinner;
+
+/**
+ * JMX view of the {@link SpinnerStats}. The latencies are in nanoseconds.
+ */
+public interface SpinnerStatsMBean {
+    long getRotations();
+
+    long getGapRotations();
+
+    long getClearRotations();
+
+    long getLostRotationRaces();
+
+    long getSlotSupplierFailures();
+
+    long getDroppedListenerEvents();
+
+    long getRotationLatencyP50();
+
+    long getRotationLatencyP99();
+
+    long getRotationLatencyMax();
+
+    long getAggregationLatencyP99();
+
+    long getAggregationLatencyMax();
+}
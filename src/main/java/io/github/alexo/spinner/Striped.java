@@ -0,0 +1,87 @@
+package io.github.alexo.spinner;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Base class for the striped accumulators: a set of cells padded against false sharing, each thread updating the cell selected by its
+ * probe. When the update of a cell fails due to contention, the thread moves to another cell, so the threads quickly spread over the
+ * available cells. The values are combined only when the total is needed (ex: when a slot is rotated).
+ */
+abstract class Striped {
+    /**
+     * The distance (in longs) between two cells: 128 bytes, so that two cells never share a cache line (or a pair of adjacent lines
+     * fetched together).
+     */
+    private static final int PAD = 16;
+    private static final int MAX_STRIPES = 64;
+    /**
+     * Per thread hash used to select the cell, shared by all the instances.
+     */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            final int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+            return new int[] { hash == 0 ? 1 : hash };
+        }
+    };
+    /**
+     * The cells are stored at indexes <code>(i + 1) * PAD</code>; the rest of the array is padding.
+     */
+    final AtomicLongArray cells;
+    private final int mask;
+
+    /**
+     * @param stripes the number of cells, rounded up to a power of two.
+     */
+    Striped(final int stripes, final long initialValue) {
+        final int size = stripes <= 1 ? 1 : Integer.highestOneBit(Math.min(stripes, MAX_STRIPES) - 1) << 1;
+        mask = size - 1;
+        cells = new AtomicLongArray((size + 1) * PAD);
+        for (int i = 0; i < size; i++) {
+            cells.set(cellIndex(i), initialValue);
+        }
+    }
+
+    /**
+     * @return the number of cells to use for the striped mode, based on the number of available processors.
+     */
+    static int defaultStripes() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return the index (in {@link #cells}) of the cell to be used by the current thread.
+     */
+    final int cell() {
+        return cellIndex(PROBE.get()[0] & mask);
+    }
+
+    /**
+     * Moves the current thread to another cell, after a contended update.
+     *
+     * @return the index of the new cell.
+     */
+    final int rehash() {
+        if (mask == 0) {
+            return cellIndex(0);
+        }
+        final int[] probe = PROBE.get();
+        int hash = probe[0];
+        hash ^= hash << 13;
+        hash ^= hash >>> 17;
+        hash ^= hash << 5;
+        probe[0] = hash;
+        return cellIndex(hash & mask);
+    }
+
+    /**
+     * @return the number of cells.
+     */
+    final int size() {
+        return mask + 1;
+    }
+
+    final int cellIndex(final int stripe) {
+        return (stripe + 1) * PAD;
+    }
+}
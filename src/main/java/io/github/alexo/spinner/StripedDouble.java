@@ -0,0 +1,36 @@
+package io.github.alexo.spinner;
+
+/**
+ * Striped <code>double</code> accumulator, similar to a <code>DoubleAdder</code>. The cells hold the raw long bits of the values.
+ */
+final class StripedDouble extends Striped {
+    private static final long ZERO = Double.doubleToRawLongBits(0);
+
+    StripedDouble(final int stripes) {
+        super(stripes, ZERO);
+    }
+
+    void add(final double value) {
+        int index = cell();
+        for (;;) {
+            final long current = cells.get(index);
+            final long updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value);
+            if (cells.compareAndSet(index, current, updated)) {
+                return;
+            }
+            index = rehash();
+        }
+    }
+
+    /**
+     * Resets the cells to zero, returning their total. Every concurrent update is accounted either in the returned total or after the
+     * reset, never lost.
+     */
+    double sumThenReset() {
+        double sum = 0;
+        for (int i = 0; i < size(); i++) {
+            sum += Double.longBitsToDouble(cells.getAndSet(cellIndex(i), ZERO));
+        }
+        return sum;
+    }
+}
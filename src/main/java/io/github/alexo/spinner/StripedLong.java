@@ -0,0 +1,31 @@
+package io.github.alexo.spinner;
+
+/**
+ * Striped <code>long</code> accumulator, similar to a <code>LongAdder</code>.
+ */
+final class StripedLong extends Striped {
+    StripedLong(final int stripes) {
+        super(stripes, 0);
+    }
+
+    void add(final long value) {
+        int index = cell();
+        final long current = cells.get(index);
+        if (!cells.compareAndSet(index, current, current + value)) {
+            index = rehash();
+            cells.addAndGet(index, value);
+        }
+    }
+
+    /**
+     * Resets the cells to zero, returning their total. Every concurrent update is accounted either in the returned total or after the
+     * reset, never lost.
+     */
+    long sumThenReset() {
+        long sum = 0;
+        for (int i = 0; i < size(); i++) {
+            sum += cells.getAndSet(cellIndex(i), 0);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.alexo.spinner;
+
+/**
+ * Incremental aggregator computing the sum of the slot values in the window. The value of each slot is read once, when the slot is
+ * added, so the result is not affected by late changes of an already expired slot.
+ *
+ * @param <I> type used by each slot.
+ */
+public abstract class SumSlotsAggregator<I> extends AbstractIncrementalSlotsAggregator<I, Long> {
+    /**
+     * Values of the slots in the window, in the order they were added. The skipped time slots have no value.
+     */
+    private final LongDeque values = new LongDeque();
+    private long sum;
+    /**
+     * The number of time slots in the window, including the skipped ones.
+     */
+    private int count;
+
+    /**
+     * @return the numeric value of the provided slot.
+     */
+    protected abstract long valueOf(I slot);
+
+    public void slotAdded(final I slot) {
+        final long value = valueOf(slot);
+        values.addLast(value);
+        sum += value;
+        count++;
+    }
+
+    public void slotsSkipped(final int skipped) {
+        count += skipped;
+    }
+
+    public void slotEvicted(final I slot) {
+        if (!values.isEmpty()) {
+            sum -= values.pollFirst();
+            count--;
+        }
+    }
+
+    public void skippedSlotsEvicted(final int skipped) {
+        count -= skipped;
+    }
+
+    public void slotsCleared() {
+        values.clear();
+        sum = 0;
+        count = 0;
+    }
+
+    public Long getAggregated() {
+        return sum;
+    }
+
+    /**
+     * @return the number of time slots currently in the window, including the ones during which the spinner was idle.
+     */
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.alexo.spinner;
+
+/**
+ * Arithmetic of the time slots used by the rotation. When the span is a power of two (ex: 1024 milliseconds or 16384 nanoseconds), the
+ * divisions and multiplications are replaced by shifts and masks, which matters when the slots are short enough to rotate thousands of
+ * times per second.
+ */
+final class TimeSlots {
+    private final long span;
+    /**
+     * The binary logarithm of the span, or -1 if the span is not a power of two.
+     */
+    private final int shift;
+    private final long mask;
+
+    TimeSlots(final long span) {
+        this.span = span;
+        shift = Long.bitCount(span) == 1 ? Long.numberOfTrailingZeros(span) : -1;
+        mask = span - 1;
+    }
+
+    long getSpan() {
+        return span;
+    }
+
+    /**
+     * @param elapsed a time elapsed since a slot boundary (not negative).
+     * @return the number of whole slots elapsed.
+     */
+    long slotsIn(final long elapsed) {
+        return shift >= 0 ? elapsed >>> shift : elapsed / span;
+    }
+
+    /**
+     * @return the time covered by the provided number of slots.
+     */
+    long durationOf(final long slots) {
+        return shift >= 0 ? slots << shift : slots * span;
+    }
+
+    /**
+     * @return the start of the slot containing the provided time, the slots being aligned to multiples of the span.
+     */
+    long slotStart(final long time) {
+        if (shift >= 0) {
+            return time & ~mask;
+        }
+        final long offset = time % span;
+        return time - (offset < 0 ? offset + span : offset);
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.alexo.spinner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving sketch counting the most frequent keys (heavy hitters) with a fixed number of counters, regardless of the number of
+ * distinct keys. When all the counters are used, a new key replaces the key with the lowest count, inheriting its count as the error
+ * (upper bound of the overestimation). The counters are kept in a min-heap, so recording a key costs O(log capacity).
+ * <p/>
+ * Used as a spinner slot together with the {@link TopKSlotsAggregator}. The recording methods are synchronized, the lock being held for a
+ * short time.
+ *
+ * @param <K> the type of the keys.
+ */
+public class TopKSketch<K> {
+    static final Comparator<Entry<?>> BY_COUNT_DESCENDING = new Comparator<Entry<?>>() {
+        public int compare(final Entry<?> first, final Entry<?> second) {
+            return first.count < second.count ? 1 : first.count == second.count ? 0 : -1;
+        }
+    };
+    private final Map<K, Counter<K>> counters;
+    /**
+     * Min-heap of the counters, by count.
+     */
+    private final Counter<K>[] heap;
+    private int size;
+
+    /**
+     * @return a supplier of sketches with the provided capacity, resetting the evicted sketches so that they are reused.
+     */
+    public static <K> RecyclingSlotSupplier<TopKSketch<K>> supplier(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be a positive value");
+        }
+        return new RecyclingSlotSupplier<TopKSketch<K>>() {
+            public TopKSketch<K> get() {
+                return new TopKSketch<K>(capacity);
+            }
+
+            public void reset(final TopKSketch<K> slot) {
+                slot.reset();
+            }
+        };
+    }
+
+    /**
+     * @param capacity the number of counters.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public TopKSketch(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be a positive value");
+        }
+        counters = new HashMap<K, Counter<K>>(capacity * 2);
+        heap = new Counter[capacity];
+    }
+
+    public void add(final K key) {
+        add(key, 1);
+    }
+
+    /**
+     * Adds the count to the key.
+     *
+     * @param count a positive count.
+     */
+    public synchronized void add(final K key, final long count) {
+        if (key == null) {
+            throw new IllegalArgumentException("Invalid key");
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be a positive value");
+        }
+        Counter<K> counter = counters.get(key);
+        if (counter == null) {
+            if (size < heap.length) {
+                counter = new Counter<K>(key);
+                counter.index = size;
+                heap[size++] = counter;
+                siftUp(counter.index);
+            } else {
+                // replace the key with the lowest count
+                counter = heap[0];
+                counters.remove(counter.key);
+                counter.key = key;
+                counter.error = counter.count;
+            }
+            counters.put(key, counter);
+        }
+        counter.count += count;
+        siftDown(counter.index);
+    }
+
+    /**
+     * @return the counted keys, from the most to the least frequent.
+     */
+    public synchronized List<Entry<K>> entries() {
+        final List<Entry<K>> entries = new ArrayList<Entry<K>>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry<K>(heap[i].key, heap[i].count, heap[i].error));
+        }
+        Collections.sort(entries, BY_COUNT_DESCENDING);
+        return entries;
+    }
+
+    /**
+     * Copies the counters, in no particular order, without allocating.
+     *
+     * @param keys receives the keys; as the other arrays, must hold at least {@link #getCapacity()} elements.
+     * @return the number of copied counters.
+     */
+    synchronized int copyTo(final Object[] keys, final long[] counts, final long[] errors) {
+        for (int i = 0; i < size; i++) {
+            keys[i] = heap[i].key;
+            counts[i] = heap[i].count;
+            errors[i] = heap[i].error;
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of counters.
+     */
+    public int getCapacity() {
+        return heap.length;
+    }
+
+    /**
+     * Removes all the counters.
+     */
+    public synchronized void reset() {
+        counters.clear();
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    private void siftUp(final int index) {
+        int current = index;
+        while (current > 0) {
+            final int parent = (current - 1) / 2;
+            if (heap[parent].count <= heap[current].count) {
+                return;
+            }
+            swap(current, parent);
+            current = parent;
+        }
+    }
+
+    private void siftDown(final int index) {
+        int current = index;
+        for (;;) {
+            final int left = 2 * current + 1;
+            if (left >= size) {
+                return;
+            }
+            final int right = left + 1;
+            final int smallest = right < size && heap[right].count < heap[left].count ? right : left;
+            if (heap[current].count <= heap[smallest].count) {
+                return;
+            }
+            swap(current, smallest);
+            current = smallest;
+        }
+    }
+
+    private void swap(final int first, final int second) {
+        final Counter<K> counter = heap[first];
+        heap[first] = heap[second];
+        heap[second] = counter;
+        heap[first].index = first;
+        heap[second].index = second;
+    }
+
+    private static final class Counter<K> {
+        K key;
+        long count;
+        long error;
+        int index;
+
+        Counter(final K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * The estimated count of a key.
+     */
+    public static final class Entry<K> {
+        private final K key;
+        private final long count;
+        private final long error;
+
+        Entry(final K key, final long count, final long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * @return the estimated count, never lower than the actual count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the maximum overestimation of the count.
+         */
+        public long getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + count + "(+/-" + error + ")";
+        }
+    }
+}
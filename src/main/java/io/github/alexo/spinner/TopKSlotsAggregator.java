@@ -0,0 +1,167 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.TopKSketch.Entry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Incremental aggregator for {@link TopKSketch} slots, computing the most frequent keys of the window. The counters of each expired
+ * sketch are added to rolling totals per key and subtracted when the slot is evicted, so the memory is bounded by
+ * <code>slotsNumber * capacity</code> counters, regardless of the number of distinct keys. The aggregated value is the list of the
+ * <code>k</code> keys with the highest totals, from the most to the least frequent.
+ * <p/>
+ * The totals are kept sorted by count, so a rotation costs <code>O(capacity * log(keys))</code> to update the totals of the added and
+ * evicted slots, plus <code>O(k)</code> to build the aggregated value, regardless of the number of keys in the window. The counters of a
+ * slot are copied (into arrays reused once the slot is evicted) when the slot is added, so the sketches can be recycled (see
+ * {@link TopKSketch#supplier(int)}).
+ * <p/>
+ * A key dropped by a sketch is missing from the totals of that slot, so the count of a key is an estimation: the error of each entry sums
+ * the errors of the merged sketches.
+ *
+ * @param <K> the type of the keys.
+ */
+public class TopKSlotsAggregator<K> extends AbstractIncrementalSlotsAggregator<TopKSketch<K>, List<Entry<K>>> {
+    private static final Comparator<Total<?>> BY_COUNT_DESCENDING = new Comparator<Total<?>>() {
+        public int compare(final Total<?> first, final Total<?> second) {
+            if (first.count != second.count) {
+                return first.count < second.count ? 1 : -1;
+            }
+            // the keys are not necessarily comparable
+            return first.id < second.id ? -1 : first.id == second.id ? 0 : 1;
+        }
+    };
+    private final int k;
+    /**
+     * The counters (count and error) of each key in the window.
+     */
+    private final Map<K, Total<K>> totals = new HashMap<K, Total<K>>();
+    /**
+     * The totals, from the highest count to the lowest.
+     */
+    private final TreeSet<Total<K>> ranking = new TreeSet<Total<K>>(BY_COUNT_DESCENDING);
+    /**
+     * The counters of each slot in the window, from the oldest to the newest.
+     */
+    private final LinkedList<SlotCounters> slots = new LinkedList<SlotCounters>();
+    /**
+     * The copies of the evicted slots, available for reuse.
+     */
+    private final List<SlotCounters> freeSlots = new ArrayList<SlotCounters>();
+    private long nextId;
+
+    /**
+     * @param k the number of keys in the aggregated value.
+     */
+    public TopKSlotsAggregator(final int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be a positive value");
+        }
+        this.k = k;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void slotAdded(final TopKSketch<K> slot) {
+        SlotCounters copy = freeSlots.isEmpty() ? null : freeSlots.remove(freeSlots.size() - 1);
+        if (copy == null || copy.keys.length < slot.getCapacity()) {
+            copy = new SlotCounters(slot.getCapacity());
+        }
+        copy.size = slot.copyTo(copy.keys, copy.counts, copy.errors);
+        for (int i = 0; i < copy.size; i++) {
+            final K key = (K) copy.keys[i];
+            Total<K> total = totals.get(key);
+            if (total == null) {
+                total = new Total<K>(key, nextId++);
+                totals.put(key, total);
+            } else {
+                ranking.remove(total);
+            }
+            total.count += copy.counts[i];
+            total.error += copy.errors[i];
+            ranking.add(total);
+        }
+        slots.add(copy);
+    }
+
+    public void slotsSkipped(final int count) {
+        // the skipped time slots hold no key
+    }
+
+    public void slotEvicted(final TopKSketch<K> slot) {
+        final SlotCounters copy = slots.removeFirst();
+        for (int i = 0; i < copy.size; i++) {
+            final Total<K> total = totals.get(copy.keys[i]);
+            ranking.remove(total);
+            total.count -= copy.counts[i];
+            total.error -= copy.errors[i];
+            if (total.count == 0) {
+                totals.remove(total.key);
+            } else {
+                ranking.add(total);
+            }
+            copy.keys[i] = null;
+        }
+        freeSlots.add(copy);
+    }
+
+    public void skippedSlotsEvicted(final int count) {
+        // the skipped time slots hold no key
+    }
+
+    public void slotsCleared() {
+        totals.clear();
+        ranking.clear();
+        slots.clear();
+    }
+
+    public List<Entry<K>> getAggregated() {
+        final List<Entry<K>> result = new ArrayList<Entry<K>>(Math.min(k, ranking.size()));
+        final Iterator<Total<K>> iterator = ranking.iterator();
+        while (result.size() < k && iterator.hasNext()) {
+            final Total<K> total = iterator.next();
+            result.add(new Entry<K>(total.key, total.count, total.error));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * The sum of the counters of a key over the slots of the window. The counts are changed only while the total is out of the ranking.
+     */
+    private static final class Total<K> {
+        final K key;
+        /**
+         * Orders the totals having the same count.
+         */
+        final long id;
+        long count;
+        long error;
+
+        Total(final K key, final long id) {
+            this.key = key;
+            this.id = id;
+        }
+    }
+
+    /**
+     * The counters of a slot, copied when the slot is added to the window.
+     */
+    private static final class SlotCounters {
+        final Object[] keys;
+        final long[] counts;
+        final long[] errors;
+        int size;
+
+        SlotCounters(final int capacity) {
+            keys = new Object[capacity];
+            counts = new long[capacity];
+            errors = new long[capacity];
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class CascadingSpinnerTest {
+    private static final SlotMerger<AtomicLong> MERGER = new SlotMerger<AtomicLong>() {
+        public void merge(final AtomicLong source, final AtomicLong target) {
+            target.addAndGet(source.get());
+        }
+    };
+    @Mock
+    private Clock clock;
+    private CascadingSpinner<AtomicLong, Long> victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setClockToStep(0);
+        final List<SpinnerConfig<AtomicLong, Long>> levels = new ArrayList<SpinnerConfig<AtomicLong, Long>>();
+        levels.add(createConfig(3, 1).setClock(clock));
+        levels.add(createConfig(2, 3));
+        victim = CascadingSpinner.create(levels, MERGER);
+    }
+
+    private SpinnerConfig<AtomicLong, Long> createConfig(final int slotsNumber, final long timeSlotSpan) {
+        return new SpinnerConfig<AtomicLong, Long>().setSlotSupplier(new SlotSupplier<AtomicLong>() {
+            public AtomicLong get() {
+                return new AtomicLong();
+            }
+        }).setSlotsAggregator(new SumSlotsAggregator<AtomicLong>() {
+            @Override
+            protected long valueOf(final AtomicLong slot) {
+                return slot.get();
+            }
+        }).setSlotsNumber(slotsNumber).setTimeSlotSpan(timeSlotSpan);
+    }
+
+    private void setClockToStep(final int step) {
+        when(clock.now()).thenReturn((long) step);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithoutLevels() {
+        CascadingSpinner.create(new ArrayList<SpinnerConfig<AtomicLong, Long>>(), MERGER);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWhenSpanIsNotMultipleOfPreviousLevel() {
+        CascadingSpinner.create(Arrays.asList(createConfig(3, 2), createConfig(2, 3)), MERGER);
+    }
+
+    @Test
+    public void shouldRollUpExpiredSlotsIntoCoarseLevel() {
+        assertEquals(2, victim.getLevelsNumber());
+        add(1);
+        setClockToStep(1);
+        add(2);
+        setClockToStep(2);
+        add(4);
+        assertEquals(3, victim.getData(0).longValue());
+        assertEquals(0, victim.getData(1).longValue());
+
+        setClockToStep(3);
+        assertEquals(7, victim.getData(0).longValue());
+        assertEquals(7, victim.getData(1).longValue());
+
+        setClockToStep(4);
+        add(8);
+        setClockToStep(6);
+        assertEquals(8, victim.getData(0).longValue());
+        assertEquals(15, victim.getData(1).longValue());
+
+        setClockToStep(9);
+        assertEquals(0, victim.getData(0).longValue());
+        assertEquals(8, victim.getData(1).longValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotRegisterListenersOnCoarseLevel() {
+        final SpinnerConfig<AtomicLong, Long> coarse = createConfig(2, 3).addListener(new SpinnerListener<AtomicLong, Long>() {
+            public void rotated(final Spinner<AtomicLong, Long> spinner, final AtomicLong slot, final long startTime, final Long data) {
+            }
+        }, new Executor() {
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        }, 10);
+        CascadingSpinner.create(Arrays.asList(createConfig(3, 1).setClock(clock), coarse), MERGER);
+    }
+
+    @Test
+    public void shouldExpireCoarseSlotsAfterLongIdlePeriod() {
+        add(1);
+        setClockToStep(100);
+        assertEquals(0, victim.getData(0).longValue());
+        assertEquals(0, victim.getData(1).longValue());
+    }
+
+    private void add(final long value) {
+        victim.update(new SlotUpdater<AtomicLong>() {
+            public void update(final AtomicLong slot) {
+                slot.addAndGet(value);
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class ClockTest {
+    private static final long TIMEOUT = 5000;
+    private final AtomicLong sourceTime = new AtomicLong();
+    /**
+     * Not a mock, since it is queried concurrently by the ticker thread while the test changes its value.
+     */
+    private final Clock source = new Clock() {
+        public long now() {
+            return sourceTime.get();
+        }
+    };
+
+    @Test
+    public void monotonicClockShouldStartFromWallTime() {
+        final long difference = Math.abs(Clock.MONOTONIC.now() - Clock.WALL.now());
+        assertTrue("difference: " + difference, difference < 1000);
+    }
+
+    @Test
+    public void monotonicClockShouldNotGoBackwards() {
+        long previous = Clock.MONOTONIC.now();
+        for (int i = 0; i < 10000; i++) {
+            final long now = Clock.MONOTONIC.now();
+            assertTrue(now >= previous);
+            previous = now;
+        }
+    }
+
+    @Test
+    public void cachedClockShouldFollowSourceClock() throws Exception {
+        sourceTime.set(10);
+        final CachedClock victim = CachedClock.create(source, 1);
+        try {
+            assertEquals(10, victim.now());
+            sourceTime.set(20);
+            final long deadline = System.currentTimeMillis() + TIMEOUT;
+            while (victim.now() != 20 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(20, victim.now());
+        } finally {
+            victim.stop();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateCachedClockWithInvalidResolution() {
+        CachedClock.create(0);
+    }
+}
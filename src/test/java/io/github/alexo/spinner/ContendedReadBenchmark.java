@@ -0,0 +1,121 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Ignore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the reads of a spinner by many more threads than processors, with slots short enough for the readers to cross a slot boundary
+ * continuously. Only the first reader noticing the expiry of a slot attempts the rotation, so the latency of the other readers should
+ * not depend on the number of threads. The rotations and the number of readers which found the rotation already claimed are reported
+ * as secondary results of the throughput mode (see {@link RotationCounters}).
+ */
+@Ignore
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ContendedReadBenchmark {
+    /**
+     * The time slot span in microseconds.
+     */
+    @Param({ "100", "1000" })
+    private long timeSlotSpan;
+    private Spinner<AtomicLong, Long> victim;
+
+    @Setup
+    public void setUp() {
+        victim = Spinner.create(new SpinnerConfig<AtomicLong, Long>().setClock(Clock.NANO, TimeUnit.NANOSECONDS)
+                .setSlotSupplier(new SlotSupplier<AtomicLong>() {
+                    public AtomicLong get() {
+                        return new AtomicLong();
+                    }
+                }).setSlotsAggregator(new SumSlotsAggregator<AtomicLong>() {
+                    @Override
+                    protected long valueOf(final AtomicLong slot) {
+                        return slot.get();
+                    }
+                }).setSlotsNumber(60).setTimeSlotSpan(timeSlotSpan, TimeUnit.MICROSECONDS).setStatsEnabled(true));
+    }
+
+    /**
+     * The rotations of the spinner during an iteration, and the lost rotation races. JMH adds up the counters of all the threads, so only
+     * the first thread reports them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters
+    public static class RotationCounters {
+        public long rotations;
+        public long lostRotationRaces;
+        private SpinnerStats stats;
+        private long rotationsBefore;
+        private long lostRotationRacesBefore;
+
+        @Setup(Level.Iteration)
+        public void start(final ContendedReadBenchmark benchmark) {
+            stats = benchmark.victim.getStats();
+            rotationsBefore = stats.getRotations();
+            lostRotationRacesBefore = stats.getLostRotationRaces();
+        }
+
+        /**
+         * Does not take the benchmark state as well, since JMH 1.1.1 reports it as a dependency cycle.
+         */
+        @TearDown(Level.Iteration)
+        public void stop(final ThreadParams threadParams) {
+            final boolean reporting = threadParams.getThreadIndex() == 0;
+            rotations = reporting ? stats.getRotations() - rotationsBefore : 0;
+            lostRotationRaces = reporting ? stats.getLostRotationRaces() - lostRotationRacesBefore : 0;
+        }
+    }
+
+    @Benchmark
+    public Long getData(final RotationCounters counters) {
+        return victim.getData();
+    }
+
+    @Benchmark
+    public AtomicLong getCurrentSlot(final RotationCounters counters) {
+        return victim.getCurrentSlot();
+    }
+
+    /**
+     * Runs the benchmarks with as many threads as processors, then with 16 and 256 times more.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final int[] threads = { processors, processors * 16, processors * 256 };
+        for (final int threadsNumber : threads) {
+            final Options opt = new OptionsBuilder().include(".*" + ContendedReadBenchmark.class.getSimpleName() + ".*")
+                    .resultFormat(ResultFormatType.JSON).result("contended-read-benchmark-" + threadsNumber + "-threads.json")
+                    .threads(threadsNumber).build();
+
+            new Runner(opt).run();
+        }
+    }
+}
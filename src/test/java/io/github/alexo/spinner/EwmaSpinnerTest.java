@@ -0,0 +1,82 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class EwmaSpinnerTest {
+    private static final int NUMBER_OF_STEPS = 4;
+    private static final long TIME_SLOT_SPAN = 100;
+    private static final double DELTA = 0.0001;
+    private static final double DECAY = Math.exp(-1.0 / NUMBER_OF_STEPS);
+    @Mock
+    private Clock clock;
+    private EwmaSpinner victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setClockToStep(0);
+        victim = EwmaSpinner.create(new SpinnerConfig<Void, Void>().setClock(clock).setSlotsNumber(NUMBER_OF_STEPS)
+                .setTimeSlotSpan(TIME_SLOT_SPAN));
+    }
+
+    private void setClockToStep(final int step) {
+        when(clock.now()).thenReturn(step * TIME_SLOT_SPAN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithNullConfig() {
+        EwmaSpinner.create(null);
+    }
+
+    @Test
+    public void shouldReturnZeroByDefault() {
+        assertEquals(0, victim.getRate(), DELTA);
+    }
+
+    @Test
+    public void shouldStartFromFirstExpiredSlot() {
+        victim.add(10);
+        assertEquals(0, victim.getRate(), DELTA);
+        setClockToStep(1);
+        assertEquals(10, victim.getRate(), DELTA);
+        assertEquals(100, victim.getRate(TimeUnit.SECONDS), DELTA);
+    }
+
+    @Test
+    public void shouldMoveAverageTowardsNewValues() {
+        victim.add(10);
+        setClockToStep(1);
+        victim.add(20);
+        victim.increment();
+        setClockToStep(2);
+        assertEquals(10 * DECAY + 21 * (1 - DECAY), victim.getRate(), DELTA);
+    }
+
+    @Test
+    public void shouldDecayOverIdleSlotsAtOnce() {
+        victim.add(10);
+        setClockToStep(1);
+        victim.getRate();
+        setClockToStep(6);
+        // same as five rotations of empty slots
+        assertEquals(10 * Math.pow(DECAY, 5), victim.getRate(), DELTA);
+    }
+
+    @Test
+    public void shouldAccountValueOfSlotFollowedByIdleSlots() {
+        victim.add(10);
+        setClockToStep(1);
+        victim.add(20);
+        setClockToStep(4);
+        assertEquals((10 * DECAY + 20 * (1 - DECAY)) * Math.pow(DECAY, 2), victim.getRate(), DELTA);
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class HistogramTest {
+    private static final long MAX_VALUE = 3600L * 1000 * 1000;
+    private static final int NUMBER_OF_STEPS = 2;
+    @Mock
+    private Clock clock;
+    private Histogram victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        victim = Histogram.create(MAX_VALUE, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithInvalidMaxValue() {
+        Histogram.create(0, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithInvalidSignificantDigits() {
+        Histogram.create(MAX_VALUE, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotRecordNegativeValue() {
+        victim.record(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotAddIncompatibleHistogram() {
+        victim.add(Histogram.create(MAX_VALUE, 1));
+    }
+
+    @Test
+    public void shouldReturnZeroWhenEmpty() {
+        assertEquals(0, victim.getTotalCount());
+        assertEquals(0, victim.getValueAtPercentile(99));
+        assertEquals(0, victim.getMaxValue());
+    }
+
+    @Test
+    public void shouldRecordSmallValuesExactly() {
+        for (int i = 1; i <= 100; i++) {
+            victim.record(i);
+        }
+        assertEquals(100, victim.getTotalCount());
+        assertEquals(50, victim.getValueAtPercentile(50));
+        assertEquals(99, victim.getValueAtPercentile(99));
+        assertEquals(100, victim.getMaxValue());
+    }
+
+    @Test
+    public void shouldRecordLargeValuesWithConfiguredPrecision() {
+        final long[] values = { 1000, 12345, 987654, 123456789, MAX_VALUE };
+        for (final long value : values) {
+            final Histogram histogram = Histogram.create(MAX_VALUE, 2);
+            histogram.record(value);
+            final long recorded = histogram.getValueAtPercentile(100);
+            assertTrue(recorded >= value);
+            assertTrue("value: " + value + ", recorded: " + recorded, recorded - value <= value / 100);
+        }
+    }
+
+    @Test
+    public void shouldCountValuesAboveMaxValueInLastBucket() {
+        victim.record(Long.MAX_VALUE);
+        assertEquals(1, victim.getTotalCount());
+        assertTrue(victim.getMaxValue() >= MAX_VALUE);
+    }
+
+    @Test
+    public void shouldAddAndSubtract() {
+        final Histogram other = Histogram.create(MAX_VALUE, 2);
+        victim.record(10);
+        other.record(1000, 3);
+        victim.add(other);
+        assertEquals(4, victim.getTotalCount());
+        assertEquals(10, victim.getValueAtPercentile(25));
+
+        victim.subtract(other);
+        assertEquals(1, victim.getTotalCount());
+        assertEquals(10, victim.getMaxValue());
+    }
+
+    @Test
+    public void shouldCopyAndReset() {
+        victim.record(10);
+        final Histogram copy = victim.copy();
+        victim.reset();
+        assertEquals(0, victim.getTotalCount());
+        assertEquals(1, copy.getTotalCount());
+    }
+
+    @Test
+    public void shouldCopyRollingHistogramOnlyWhenWindowChanged() {
+        final HistogramSlotsAggregator aggregator = new HistogramSlotsAggregator(MAX_VALUE, 2);
+        victim.record(10);
+        aggregator.slotAdded(victim);
+        final Histogram aggregated = aggregator.getAggregated();
+        aggregator.slotsSkipped(2);
+        assertSame(aggregated, aggregator.getAggregated());
+        aggregator.slotEvicted(victim);
+        assertEquals(0, aggregator.getAggregated().getTotalCount());
+        assertEquals(1, aggregated.getTotalCount());
+    }
+
+    @Test
+    public void shouldComputePercentilesOverSlidingWindow() {
+        setClockToStep(0);
+        final Spinner<Histogram, Histogram> spinner = Spinner.create(new SpinnerConfig<Histogram, Histogram>()
+                .setClock(clock).setSlotSupplier(Histogram.supplier(MAX_VALUE, 2))
+                .setSlotsAggregator(new HistogramSlotsAggregator(MAX_VALUE, 2)).setSlotsNumber(NUMBER_OF_STEPS)
+                .setTimeSlotSpan(1));
+        record(spinner, 10);
+        setClockToStep(1);
+        record(spinner, 20);
+        setClockToStep(2);
+        assertEquals(2, spinner.getData().getTotalCount());
+        assertEquals(20, spinner.getData().getMaxValue());
+
+        setClockToStep(3);
+        assertEquals(1, spinner.getData().getTotalCount());
+        assertEquals(20, spinner.getData().getValueAtPercentile(50));
+
+        setClockToStep(NUMBER_OF_STEPS + 5);
+        assertEquals(0, spinner.getData().getTotalCount());
+    }
+
+    private void record(final Spinner<Histogram, ?> spinner, final long value) {
+        spinner.update(new SlotUpdater<Histogram>() {
+            public void update(final Histogram slot) {
+                slot.record(value);
+            }
+        });
+    }
+
+    private void setClockToStep(final int step) {
+        when(clock.now()).thenReturn((long) step);
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class IncrementalSlotsAggregatorTest {
+    private static final int WINDOW = 3;
+    private static final long[] VALUES = { 5, 1, 7, 3, 3, 2, 9, 0, 4, 4, 8, 1 };
+
+    private static long valueOf(final Long slot) {
+        return slot.longValue();
+    }
+
+    @Test
+    public void shouldComputeSlidingSum() {
+        final SumSlotsAggregator<Long> victim = new SumSlotsAggregator<Long>() {
+            @Override
+            protected long valueOf(final Long slot) {
+                return IncrementalSlotsAggregatorTest.valueOf(slot);
+            }
+        };
+        slide(victim, new Expected() {
+            public long compute(final long[] window) {
+                long sum = 0;
+                for (final long value : window) {
+                    sum += value;
+                }
+                return sum;
+            }
+        });
+    }
+
+    @Test
+    public void shouldComputeSlidingMax() {
+        final MaxSlotsAggregator<Long> victim = new MaxSlotsAggregator<Long>() {
+            @Override
+            protected long valueOf(final Long slot) {
+                return IncrementalSlotsAggregatorTest.valueOf(slot);
+            }
+        };
+        slide(victim, new Expected() {
+            public long compute(final long[] window) {
+                long max = Long.MIN_VALUE;
+                for (final long value : window) {
+                    max = Math.max(max, value);
+                }
+                return max;
+            }
+        });
+    }
+
+    @Test
+    public void shouldComputeSlidingMin() {
+        final MinSlotsAggregator<Long> victim = new MinSlotsAggregator<Long>() {
+            @Override
+            protected long valueOf(final Long slot) {
+                return IncrementalSlotsAggregatorTest.valueOf(slot);
+            }
+        };
+        slide(victim, new Expected() {
+            public long compute(final long[] window) {
+                long min = Long.MAX_VALUE;
+                for (final long value : window) {
+                    min = Math.min(min, value);
+                }
+                return min;
+            }
+        });
+    }
+
+    @Test
+    public void shouldReturnZeroWhenCleared() {
+        final MaxSlotsAggregator<Long> victim = new MaxSlotsAggregator<Long>() {
+            @Override
+            protected long valueOf(final Long slot) {
+                return IncrementalSlotsAggregatorTest.valueOf(slot);
+            }
+        };
+        victim.slotAdded(10L);
+        victim.slotsCleared();
+        assertEquals(0, victim.getAggregated().longValue());
+        victim.slotAdded(3L);
+        victim.slotEvicted(3L);
+        assertEquals(0, victim.getAggregated().longValue());
+    }
+
+    @Test
+    public void shouldKeepSkippedSlotsUntilTheWholeRunIsEvicted() {
+        final MinSlotsAggregator<Long> victim = new MinSlotsAggregator<Long>() {
+            @Override
+            protected long valueOf(final Long slot) {
+                return IncrementalSlotsAggregatorTest.valueOf(slot);
+            }
+        };
+        victim.slotAdded(5L);
+        victim.slotsSkipped(3);
+        victim.slotAdded(7L);
+        assertEquals(0, victim.getAggregated().longValue());
+        victim.slotEvicted(5L);
+        victim.skippedSlotsEvicted(2);
+        assertEquals(0, victim.getAggregated().longValue());
+        victim.skippedSlotsEvicted(1);
+        assertEquals(7, victim.getAggregated().longValue());
+    }
+
+    @Test
+    public void shouldCountSkippedSlots() {
+        final SumSlotsAggregator<Long> victim = new SumSlotsAggregator<Long>() {
+            @Override
+            protected long valueOf(final Long slot) {
+                return IncrementalSlotsAggregatorTest.valueOf(slot);
+            }
+        };
+        victim.slotAdded(5L);
+        victim.slotsSkipped(3);
+        victim.slotAdded(7L);
+        assertEquals(12, victim.getAggregated().longValue());
+        assertEquals(5, victim.getCount());
+        victim.slotEvicted(5L);
+        victim.skippedSlotsEvicted(3);
+        assertEquals(7, victim.getAggregated().longValue());
+        assertEquals(1, victim.getCount());
+    }
+
+    @Test
+    public void shouldRebuildStateOnFullAggregation() {
+        final SumSlotsAggregator<Long> victim = new SumSlotsAggregator<Long>() {
+            @Override
+            protected long valueOf(final Long slot) {
+                return IncrementalSlotsAggregatorTest.valueOf(slot);
+            }
+        };
+        victim.slotAdded(100L);
+        assertEquals(6, victim.aggregate(Arrays.asList(1L, 2L, 3L).iterator(), 3L).longValue());
+        assertEquals(3, victim.getCount());
+    }
+
+    private void slide(final IncrementalSlotsAggregator<Long, Long> victim, final Expected expected) {
+        for (int i = 0; i < VALUES.length; i++) {
+            if (i >= WINDOW) {
+                victim.slotEvicted(VALUES[i - WINDOW]);
+            }
+            victim.slotAdded(VALUES[i]);
+            final int from = Math.max(0, i - WINDOW + 1);
+            final long[] window = new long[i - from + 1];
+            System.arraycopy(VALUES, from, window, 0, window.length);
+            assertEquals("at index " + i, expected.compute(window), victim.getAggregated().longValue());
+        }
+    }
+
+    private static interface Expected {
+        long compute(long[] window);
+    }
+}
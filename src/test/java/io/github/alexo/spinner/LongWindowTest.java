@@ -0,0 +1,167 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class LongWindowTest {
+    private static final int NUMBER_OF_STEPS = 3;
+    private static final long TIME_SLOT_SPAN = 10;
+    @Mock
+    private Clock clock;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setClockToStep(100);
+    }
+
+    private void setClockToStep(final int step) {
+        when(clock.now()).thenReturn(step * TIME_SLOT_SPAN);
+    }
+
+    private LongSpinner createSpinner() {
+        return LongSpinner.create(new SpinnerConfig<Void, Void>().setClock(clock).setSlotsNumber(NUMBER_OF_STEPS)
+                .setTimeSlotSpan(TIME_SLOT_SPAN));
+    }
+
+    @Test
+    public void shouldCopyWindowAlignedToAbsoluteSlots() {
+        final LongSpinner spinner = createSpinner();
+        spinner.add(10);
+        setClockToStep(101);
+        spinner.add(-3);
+        setClockToStep(102);
+
+        final LongWindow window = spinner.window();
+        assertEquals(2, window.size());
+        assertEquals(10, window.get(0));
+        assertEquals(100 * TIME_SLOT_SPAN, window.getStartTime(0));
+        assertEquals(-3, window.get(1));
+        assertEquals(7, window.sum());
+    }
+
+    @Test
+    public void shouldEncodeAndDecode() {
+        final LongWindow window = new LongWindow(TIME_SLOT_SPAN, -5, new long[] { 0, 300, Long.MAX_VALUE, Long.MIN_VALUE, -1 });
+        final byte[] bytes = window.toBytes();
+        final LongWindow decoded = LongWindow.fromBytes(bytes);
+        assertEquals(window.size(), decoded.size());
+        for (int i = 0; i < window.size(); i++) {
+            assertEquals(window.get(i), decoded.get(i));
+            assertEquals(window.getStartTime(i), decoded.getStartTime(i));
+        }
+        assertEquals(TIME_SLOT_SPAN, decoded.getTimeSlotSpan());
+    }
+
+    @Test
+    public void shouldEncodeSmallDeltasCompactly() {
+        final long[] values = new long[3600];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1000000 + i % 3;
+        }
+        // one byte per slot, except the first one
+        assertTrue(new LongWindow(1000, 1000000000L, values).toBytes().length < values.length + 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotDecodeTruncatedBytes() {
+        final byte[] bytes = new LongWindow(TIME_SLOT_SPAN, 1, new long[] { 1000, 2000 }).toBytes();
+        final byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        LongWindow.fromBytes(truncated);
+    }
+
+    @Test
+    public void shouldMergeWindowsOfSeveralNodes() {
+        final LongSpinner first = createSpinner();
+        final LongSpinner second = createSpinner();
+        first.add(1);
+        second.add(10);
+        setClockToStep(101);
+        first.add(2);
+        // the second node is idle
+        setClockToStep(102);
+        second.add(20);
+        setClockToStep(103);
+
+        final List<LongWindow> windows = new ArrayList<LongWindow>();
+        windows.add(LongWindow.fromBytes(first.window().toBytes()));
+        windows.add(LongWindow.fromBytes(second.window().toBytes()));
+        final LongWindow merged = LongWindow.merge(windows);
+        assertEquals(3, merged.size());
+        assertEquals(11, merged.get(0));
+        assertEquals(2, merged.get(1));
+        assertEquals(20, merged.get(2));
+        assertEquals(22, merged.sumSince(101 * TIME_SLOT_SPAN));
+    }
+
+    @Test
+    public void shouldMergeUnalignedWindows() {
+        final LongWindow merged = new LongWindow(TIME_SLOT_SPAN, 10, new long[] { 1, 2 }).merge(new LongWindow(
+                TIME_SLOT_SPAN, 11, new long[] { 3, 4 }));
+        assertEquals(3, merged.size());
+        assertEquals(1, merged.get(0));
+        assertEquals(5, merged.get(1));
+        assertEquals(4, merged.get(2));
+        assertEquals(10 * TIME_SLOT_SPAN, merged.getStartTime(0));
+    }
+
+    @Test
+    public void shouldMergeDisjointWindows() {
+        final LongWindow merged = new LongWindow(TIME_SLOT_SPAN, 10, new long[] { 1, 2 }).merge(new LongWindow(
+                TIME_SLOT_SPAN, 13, new long[] { 3 }));
+        assertEquals(4, merged.size());
+        assertEquals(1, merged.get(0));
+        assertEquals(2, merged.get(1));
+        assertEquals(0, merged.get(2));
+        assertEquals(3, merged.get(3));
+        assertEquals(10 * TIME_SLOT_SPAN, merged.getStartTime(0));
+    }
+
+    @Test
+    public void shouldKeepMostRecentSlotsWhenMergingFarApartWindows() {
+        final LongWindow stale = new LongWindow(TIME_SLOT_SPAN, 10, new long[] { 1, 2, 3 });
+        final LongWindow recent = new LongWindow(TIME_SLOT_SPAN, 1000000000000L, new long[] { 4, 5, 6 });
+        final LongWindow merged = stale.merge(recent);
+        assertEquals(6, merged.size());
+        assertEquals(0, merged.get(0));
+        assertEquals(4, merged.get(3));
+        assertEquals(15, merged.sum());
+        assertEquals((1000000000000L - 3) * TIME_SLOT_SPAN, merged.getStartTime(0));
+    }
+
+    @Test
+    public void shouldClipPartiallyOverlappingFarApartWindows() {
+        final LongWindow merged = new LongWindow(TIME_SLOT_SPAN, 0, new long[] { 1, 2, 3, 4 }).merge(new LongWindow(
+                TIME_SLOT_SPAN, 9, new long[] { 5 }));
+        // twice the largest window
+        assertEquals(8, merged.size());
+        assertEquals(3, merged.get(0));
+        assertEquals(5, merged.get(7));
+        assertEquals(12, merged.sum());
+        assertEquals(2 * TIME_SLOT_SPAN, merged.getStartTime(0));
+    }
+
+    @Test
+    public void shouldMergeWindowsWhoseDistanceOverflows() {
+        final LongWindow merged = new LongWindow(TIME_SLOT_SPAN, Long.MIN_VALUE, new long[] { 1 }).merge(new LongWindow(
+                TIME_SLOT_SPAN, Long.MAX_VALUE - 1, new long[] { 2 }));
+        assertEquals(2, merged.size());
+        assertEquals(2, merged.sum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotMergeWindowsWithDifferentSpans() {
+        new LongWindow(TIME_SLOT_SPAN, 0, new long[] { 1 }).merge(new LongWindow(TIME_SLOT_SPAN * 2, 0, new long[] { 1 }));
+    }
+}
@@ -0,0 +1,362 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class PrimitiveSpinnerTest {
+    private static final int NUMBER_OF_STEPS = 3;
+    private static final long TIME_SLOT_SPAN = 10;
+    private static final double DELTA = 0.0001;
+    @Mock
+    private Clock clock;
+    private ExecutorService executorService;
+    private LongSpinner victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setClockToStep(0);
+        victim = LongSpinner.create(createConfig());
+        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdown();
+    }
+
+    private SpinnerConfig<Void, Void> createConfig() {
+        return new SpinnerConfig<Void, Void>().setClock(clock).setSlotsNumber(NUMBER_OF_STEPS).setTimeSlotSpan(TIME_SLOT_SPAN);
+    }
+
+    private void setClockToStep(final int step) {
+        setClockTo(step * TIME_SLOT_SPAN);
+    }
+
+    private void setClockTo(final long time) {
+        when(clock.now()).thenReturn(time);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithNullConfig() {
+        LongSpinner.create(null);
+    }
+
+    @Test
+    public void shouldReturnZeroByDefault() {
+        assertEquals(0, victim.sum());
+        assertEquals(0, victim.max());
+        assertEquals(0, victim.average(), DELTA);
+    }
+
+    @Test
+    public void shouldComputeSumMaxAndAverageOfExpiredSlots() {
+        victim.add(10);
+        setClockToStep(1);
+        victim.add(30);
+        assertEquals(10, victim.sum());
+        setClockToStep(2);
+        victim.add(20);
+        setClockToStep(3);
+        assertEquals(60, victim.sum());
+        assertEquals(30, victim.max());
+        assertEquals(20, victim.average(), DELTA);
+    }
+
+    @Test
+    public void shouldEvictOldestSlots() {
+        victim.add(50);
+        setClockToStep(1);
+        victim.add(10);
+        setClockToStep(2);
+        victim.add(20);
+        setClockToStep(3);
+        victim.add(30);
+        setClockToStep(4);
+        assertEquals(60, victim.sum());
+        assertEquals(30, victim.max());
+    }
+
+    @Test
+    public void shouldAddEmptySlotsWhenSeveralSlotsExpire() {
+        victim.add(10);
+        setClockToStep(3);
+        assertEquals(10, victim.sum());
+        assertEquals(10, victim.max());
+        assertEquals(10. / 3, victim.average(), DELTA);
+        setClockToStep(4);
+        assertEquals(0, victim.sum());
+    }
+
+    @Test
+    public void shouldClearWindowWhenAllSlotsExpire() {
+        victim.add(10);
+        setClockToStep(NUMBER_OF_STEPS + 1);
+        assertEquals(0, victim.sum());
+        assertEquals(0, victim.max());
+    }
+
+    @Test
+    public void shouldAlignSlotsToTimeSlotSpan() {
+        setClockTo(TIME_SLOT_SPAN + 7);
+        victim = LongSpinner.create(createConfig());
+        victim.add(10);
+        setClockTo(2 * TIME_SLOT_SPAN);
+        assertEquals(10, victim.sum());
+    }
+
+    @Test
+    public void shouldNotLoseConcurrentUpdates() throws Exception {
+        shouldNotLoseConcurrentUpdates(victim);
+    }
+
+    @Test
+    public void shouldNotLoseConcurrentUpdatesWhenStriped() throws Exception {
+        shouldNotLoseConcurrentUpdates(LongSpinner.create(createConfig().setStriped(true)));
+    }
+
+    private void shouldNotLoseConcurrentUpdates(final LongSpinner spinner) throws Exception {
+        final int times = 1000;
+        final CountDownLatch latch = new CountDownLatch(times);
+        for (int i = 0; i < times; i++) {
+            executorService.submit(new Runnable() {
+                public void run() {
+                    spinner.increment();
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        setClockToStep(1);
+        assertEquals(times, spinner.sum());
+    }
+
+    @Test
+    public void shouldCollectRecorderValuesInCurrentSlot() {
+        final LongRecorder recorder = victim.recorder();
+        recorder.add(10);
+        victim.add(5);
+        setClockToStep(1);
+        assertEquals(15, victim.sum());
+        recorder.add(20);
+        setClockToStep(2);
+        assertEquals(35, victim.sum());
+        assertEquals(20, victim.max());
+    }
+
+    @Test
+    public void shouldCollectRecorderValuesIntoTheSlotOfTheirTime() {
+        final LongRecorder recorder = victim.recorder();
+        recorder.add(10);
+        // the spinner is not read between the slots
+        setClockToStep(1);
+        recorder.add(20);
+        recorder.add(30);
+        setClockToStep(3);
+        recorder.add(40);
+        setClockToStep(4);
+        final LongWindow window = victim.window();
+        assertEquals(50, window.get(0));
+        assertEquals(0, window.get(1));
+        assertEquals(40, window.get(2));
+        assertEquals(90, victim.sum());
+    }
+
+    @Test
+    public void shouldAddUncollectedValuesWhenRecorderIsClosed() {
+        final LongRecorder recorder = victim.recorder();
+        recorder.add(10);
+        setClockToStep(1);
+        assertEquals(10, victim.sum());
+        recorder.add(7);
+        recorder.close();
+        setClockToStep(2);
+        assertEquals(17, victim.sum());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotAddToClosedRecorder() {
+        final LongRecorder recorder = victim.recorder();
+        recorder.close();
+        recorder.add(1);
+    }
+
+    @Test
+    public void shouldNotLoseValuesOfConcurrentRecorders() throws Exception {
+        final int threads = 4;
+        final int times = 10000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.submit(new Runnable() {
+                public void run() {
+                    final LongRecorder recorder = victim.recorder();
+                    for (int j = 0; j < times; j++) {
+                        recorder.increment();
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        setClockToStep(1);
+        assertEquals(threads * times, victim.sum());
+    }
+
+    @Test
+    public void shouldSumAllStripes() {
+        final StripedLong striped = new StripedLong(5);
+        assertEquals(8, striped.size());
+        for (int i = 0; i < striped.size(); i++) {
+            striped.cells.set(striped.cellIndex(i), i);
+        }
+        striped.add(100);
+        assertEquals(128, striped.sumThenReset());
+        assertEquals(0, striped.sumThenReset());
+    }
+
+    @Test
+    public void shouldComputeDoubleWindow() {
+        final DoubleSpinner spinner = DoubleSpinner.create(createConfig().setStriped(true));
+        spinner.add(1.5);
+        spinner.add(1);
+        setClockToStep(1);
+        spinner.add(0.5);
+        setClockToStep(2);
+        assertEquals(3, spinner.sum(), DELTA);
+        assertEquals(2.5, spinner.max(), DELTA);
+        assertEquals(1.5, spinner.average(), DELTA);
+        for (int step = 3; step < 3 + 2 * NUMBER_OF_STEPS; step++) {
+            spinner.add(0.1);
+            setClockToStep(step);
+        }
+        assertEquals(0.3, spinner.sum(), DELTA);
+        assertEquals(0.1, spinner.max(), DELTA);
+    }
+
+    @Test
+    public void shouldRotateFromScheduledTask() {
+        final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+        victim = LongSpinner.create(createConfig().setRotationExecutor(executor));
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(executor).schedule(task.capture(), Mockito.eq(TIME_SLOT_SPAN), Mockito.eq(TimeUnit.MILLISECONDS));
+
+        victim.add(10);
+        setClockTo(TIME_SLOT_SPAN + 3);
+        assertEquals(0, victim.sum());
+        task.getValue().run();
+        assertEquals(10, victim.sum());
+        // re-scheduled for the end of the current slot
+        Mockito.verify(executor).schedule(task.getValue(), TIME_SLOT_SPAN - 3, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void shouldRestorePersistedWindow() throws Exception {
+        final File file = File.createTempFile("spinner", ".bin");
+        file.deleteOnExit();
+        victim = LongSpinner.create(createConfig(), file);
+        victim.add(10);
+        setClockToStep(1);
+        victim.add(5);
+        setClockToStep(2);
+        victim.add(7);
+        assertEquals(15, victim.sum());
+        victim.close();
+
+        // restarted within the window: the slot current before the restart is lost
+        setClockToStep(3);
+        victim = LongSpinner.create(createConfig(), file);
+        assertEquals(15, victim.sum());
+        assertEquals(10, victim.max());
+        setClockToStep(4);
+        assertEquals(5, victim.sum());
+
+        // restarted after the window expired
+        victim.close();
+        setClockToStep(20);
+        victim = LongSpinner.create(createConfig(), file);
+        assertEquals(0, victim.sum());
+    }
+
+    @Test
+    public void shouldIgnorePersistedWindowWithDifferentSettings() throws Exception {
+        final File file = File.createTempFile("spinner", ".bin");
+        file.deleteOnExit();
+        final DoubleSpinner spinner = DoubleSpinner.create(createConfig(), file);
+        spinner.add(1.5);
+        setClockToStep(1);
+        assertEquals(1.5, spinner.sum(), DELTA);
+        spinner.close();
+        assertEquals(1.5, DoubleSpinner.create(createConfig(), file).sum(), DELTA);
+
+        victim = LongSpinner.create(createConfig().setSlotsNumber(NUMBER_OF_STEPS + 1), file);
+        assertEquals(0, victim.sum());
+    }
+
+    @Test
+    public void shouldIgnorePersistedWindowWrittenWithAnotherClockUnit() throws Exception {
+        final File file = File.createTempFile("spinner", ".bin");
+        file.deleteOnExit();
+        victim = LongSpinner.create(createConfig(), file);
+        victim.add(10);
+        setClockToStep(1);
+        assertEquals(10, victim.sum());
+        victim.close();
+
+        victim = LongSpinner.create(createConfig().setClock(clock, TimeUnit.NANOSECONDS).setTimeSlotSpan(TIME_SLOT_SPAN,
+                TimeUnit.NANOSECONDS), file);
+        assertEquals(0, victim.sum());
+    }
+
+    @Test
+    public void shouldIgnorePersistedWindowStartingAfterCurrentTime() throws Exception {
+        final File file = File.createTempFile("spinner", ".bin");
+        file.deleteOnExit();
+        setClockToStep(100);
+        victim = LongSpinner.create(createConfig(), file);
+        victim.add(10);
+        setClockToStep(101);
+        assertEquals(10, victim.sum());
+        victim.close();
+
+        // the clock was set back
+        setClockToStep(0);
+        victim = LongSpinner.create(createConfig(), file);
+        assertEquals(0, victim.sum());
+        victim.add(5);
+        setClockToStep(1);
+        assertEquals(5, victim.sum());
+    }
+
+    @Test
+    public void shouldAlignSlotsToPowerOfTwoNanosecondSpan() {
+        setClockTo(-1000);
+        victim = LongSpinner.create(createConfig().setClock(clock, TimeUnit.NANOSECONDS).setTimeSlotSpan(256,
+                TimeUnit.NANOSECONDS));
+        victim.add(10);
+        // the slot started at -1024
+        setClockTo(-769);
+        assertEquals(0, victim.sum());
+        setClockTo(-768);
+        victim.add(5);
+        assertEquals(10, victim.sum());
+        setClockTo(-512);
+        assertEquals(15, victim.sum());
+        assertEquals(-512, victim.window().getStartTime(2));
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.alexo.spinner;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the decisions per second of the {@link SlidingWindowRateLimiter}, with a limit which is never reached (all the permits are
+ * granted) and with a limit reached almost immediately (most of the permits are refused).
+ */
+@Ignore
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SlidingWindowRateLimiterBenchmark {
+    @Param({ "1000", "9223372036854775807" })
+    private long limit;
+    private SlidingWindowRateLimiter victim;
+
+    @Setup
+    public void setUp() {
+        victim = SlidingWindowRateLimiter.create(new SpinnerConfig<Void, Void>().setSlotsNumber(10).setTimeSlotSpan(100)
+                .setClock(CachedClock.create(1)), limit);
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return victim.tryAcquire();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(".*" + SlidingWindowRateLimiterBenchmark.class.getSimpleName() + ".*")
+                .resultFormat(ResultFormatType.JSON).threads(Runtime.getRuntime().availableProcessors()).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class SlidingWindowRateLimiterTest {
+    private static final int NUMBER_OF_STEPS = 2;
+    private static final long TIME_SLOT_SPAN = 10;
+    private static final long LIMIT = 100;
+    @Mock
+    private Clock clock;
+    private ExecutorService executorService;
+    private SlidingWindowRateLimiter victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setClockTo(0);
+        victim = SlidingWindowRateLimiter.create(new SpinnerConfig<Void, Void>().setClock(clock)
+                .setSlotsNumber(NUMBER_OF_STEPS).setTimeSlotSpan(TIME_SLOT_SPAN), LIMIT);
+        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdown();
+    }
+
+    private void setClockTo(final long time) {
+        when(clock.now()).thenReturn(time);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithInvalidLimit() {
+        SlidingWindowRateLimiter.create(new SpinnerConfig<Void, Void>(), 0);
+    }
+
+    @Test
+    public void shouldRefusePermitsExceedingLimit() {
+        assertTrue(victim.tryAcquire(60));
+        assertFalse(victim.tryAcquire(41));
+        assertTrue(victim.tryAcquire(40));
+        assertFalse(victim.tryAcquire());
+        assertEquals(LIMIT, victim.getAcquired());
+    }
+
+    @Test
+    public void shouldWeightOldestSlotByElapsedFraction() {
+        assertTrue(victim.tryAcquire(100));
+        setClockTo(TIME_SLOT_SPAN);
+        assertFalse(victim.tryAcquire());
+        // the window is full: [100, 0] + current
+        setClockTo(2 * TIME_SLOT_SPAN);
+        assertFalse(victim.tryAcquire());
+        // 30% of the oldest slot left the window
+        setClockTo(2 * TIME_SLOT_SPAN + 3);
+        assertEquals(70, victim.getAcquired());
+        assertTrue(victim.tryAcquire(30));
+        assertFalse(victim.tryAcquire());
+        // the oldest slot left the window
+        setClockTo(3 * TIME_SLOT_SPAN);
+        assertEquals(30, victim.getAcquired());
+    }
+
+    @Test
+    public void shouldResetAfterIdlePeriod() {
+        assertTrue(victim.tryAcquire(100));
+        setClockTo(10 * TIME_SLOT_SPAN);
+        assertTrue(victim.tryAcquire(100));
+    }
+
+    @Test
+    public void shouldNotExceedLimitUnderConcurrentLoad() throws Exception {
+        final int times = 1000;
+        final AtomicInteger granted = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(times);
+        for (int i = 0; i < times; i++) {
+            executorService.submit(new Runnable() {
+                public void run() {
+                    if (victim.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        assertEquals(LIMIT, granted.get());
+    }
+}
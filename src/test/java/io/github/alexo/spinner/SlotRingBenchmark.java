@@ -0,0 +1,83 @@
+package io.github.alexo.spinner;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of a rotation (add a slot, evicting the oldest, then iterate all the slots) using the {@link SlotRing} and the
+ * previously used {@link ArrayBlockingQueue}.
+ */
+@Ignore
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SlotRingBenchmark {
+    @Param({ "10", "3600", "86400" })
+    private int slotsNumber;
+    private Queue<Long> queue;
+    private SlotRing<Long> ring;
+    private final Long slot = Long.valueOf(1);
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        queue = new ArrayBlockingQueue<Long>(slotsNumber);
+        ring = new SlotRing<Long>(slotsNumber);
+        for (int i = 0; i < slotsNumber; i++) {
+            queue.add(slot);
+            ring.add(slot, sequence++);
+        }
+    }
+
+    @Benchmark
+    public long arrayBlockingQueue() {
+        queue.poll();
+        queue.add(slot);
+        return sum(queue.iterator());
+    }
+
+    @Benchmark
+    public long slotRing() {
+        ring.pollOlderThan(sequence - slotsNumber + 1);
+        ring.add(slot, sequence++);
+        return sum(ring.iterator(sequence - slotsNumber, sequence));
+    }
+
+    private long sum(final Iterator<Long> iterator) {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        return sum;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(".*" + SlotRingBenchmark.class.getSimpleName() + ".*")
+                .resultFormat(ResultFormatType.JSON).build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SlotRingTest {
+    private final SlotRing<Integer> victim = new SlotRing<Integer>(3);
+
+    @Test
+    public void shouldBeEmptyByDefault() {
+        assertEquals(0, victim.size());
+        assertFalse(victim.iterator(0, Long.MAX_VALUE).hasNext());
+    }
+
+    @Test
+    public void shouldPollSlotsOlderThanSequence() {
+        for (int i = 1; i <= 3; i++) {
+            victim.add(i, i);
+        }
+        assertEquals(3, victim.size());
+        assertNull(victim.pollOlderThan(1));
+        assertEquals(1, victim.pollOlderThan(3).intValue());
+        assertEquals(2, victim.pollOlderThan(3).intValue());
+        assertNull(victim.pollOlderThan(3));
+        victim.add(4, 4);
+        victim.add(5, 5);
+        assertEquals(3, victim.getSequence(0));
+        assertEquals(Arrays.asList(3, 4, 5), toList());
+        // the iterator can be reused
+        assertEquals(Arrays.asList(3, 4, 5), toList());
+    }
+
+    @Test
+    public void shouldSkipMissingSequences() {
+        victim.add(1, 1);
+        victim.add(7, 7);
+        assertEquals(1, victim.pollOlderThan(5).intValue());
+        assertNull(victim.pollOlderThan(5));
+        assertEquals(Arrays.asList(7), toList());
+    }
+
+    @Test
+    public void shouldIterateOnlyTheSlotsOfTheRange() {
+        victim.add(1, 1);
+        victim.add(3, 3);
+        victim.add(5, 5);
+        final Iterator<Integer> iterator = victim.iterator(2, 5);
+        assertEquals(3, iterator.next().intValue());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotAddWhenFull() {
+        for (int i = 1; i <= 4; i++) {
+            victim.add(i, i);
+        }
+    }
+
+    @Test
+    public void shouldClear() {
+        victim.add(1, 1);
+        victim.add(2, 2);
+        victim.clear();
+        assertEquals(0, victim.size());
+        victim.add(3, 3);
+        assertEquals(Arrays.asList(3), toList());
+    }
+
+    private List<Integer> toList() {
+        final List<Integer> list = new ArrayList<Integer>();
+        final Iterator<Integer> iterator = victim.iterator(0, Long.MAX_VALUE);
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+}
@@ -11,13 +11,17 @@ import org.junit.Ignore;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -25,20 +29,35 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
+/**
+ * Measures the writes, the reads and a mix of both on the wall clock. A short time slot span makes the writers and the readers pay the
+ * rotation cost regularly; see {@link SpinnerRotationBenchmark} for the cost of a single rotation.
+ */
 @Ignore
 @State(Scope.Benchmark)
-@BenchmarkMode(Mode.Throughput)
-@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
 @Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
 @Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
 @Fork(1)
 public class SpinnerBenchmark {
+    @Param({ "10", "3600" })
+    private int slotsNumber;
+    /**
+     * The time slot span in milliseconds.
+     */
+    @Param({ "1", "1000" })
+    private long timeSlotSpan;
     private Spinner<AtomicLong, Number> victim;
+    private LongSpinner longSpinner;
+    private LongSpinner stripedLongSpinner;
     long index = 0;
 
     @Setup
     public void setUp() {
         victim = Spinner.create(createDefaultConfig());
+        longSpinner = LongSpinner.create(createDefaultConfig());
+        stripedLongSpinner = LongSpinner.create(createDefaultConfig().setStriped(true));
     }
 
     @Benchmark
@@ -46,6 +65,60 @@ public class SpinnerBenchmark {
         victim.getCurrentSlot().incrementAndGet();
     }
 
+    @Benchmark
+    public void longSpinner() {
+        longSpinner.increment();
+    }
+
+    @Benchmark
+    public void stripedLongSpinner() {
+        stripedLongSpinner.increment();
+    }
+
+    /**
+     * Each thread adds the values through its own {@link LongRecorder}.
+     */
+    @Benchmark
+    public void longRecorder(final RecorderState state) {
+        if (state.recorder == null) {
+            state.recorder = longSpinner.recorder();
+        }
+        state.recorder.increment();
+    }
+
+    @Benchmark
+    public Number getData() {
+        return victim.getData();
+    }
+
+    @Benchmark
+    public long longSpinnerSum() {
+        return longSpinner.sum();
+    }
+
+    /**
+     * Writers and readers running concurrently; the mix can be changed with the <code>-tg</code> option (ex: -tg 1,3 for one writer and
+     * three readers).
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedWrite() {
+        victim.getCurrentSlot().incrementAndGet();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Number mixedRead() {
+        return victim.getData();
+    }
+
+    @State(Scope.Thread)
+    public static class RecorderState {
+        private LongRecorder recorder;
+    }
+
     private SpinnerConfig<AtomicLong, Number> createDefaultConfig() {
         final SlotSupplier<AtomicLong> stepSupplier = new SlotSupplier<AtomicLong>() {
             public AtomicLong get() {
@@ -53,7 +126,8 @@ public class SpinnerBenchmark {
             }
         };
         final SpinnerConfig<AtomicLong, Number> config = new SpinnerConfig<AtomicLong, Number>()
-                .setSlotSupplier(stepSupplier).setSlotsAggregator(createAverageAggregator()).setSlotsNumber(10);
+                .setSlotSupplier(stepSupplier).setSlotsAggregator(createAverageAggregator()).setSlotsNumber(slotsNumber)
+                .setTimeSlotSpan(timeSlotSpan);
         return config;
     }
 
@@ -72,12 +146,22 @@ public class SpinnerBenchmark {
         };
     }
 
+    /**
+     * Runs the benchmarks with 1, 2, 4... threads up to the number of available processors, to show how the throughput scales with the
+     * number of writers. The allocations are reported by the GC profiler.
+     */
     public static void main(final String[] args) throws RunnerException {
-        final int threadsNumber = Runtime.getRuntime().availableProcessors();
-        final Options opt = new OptionsBuilder().include(".*" + SpinnerBenchmark.class.getSimpleName() + ".*")
-                .resultFormat(ResultFormatType.JSON).measurementTime(TimeValue.seconds(10)).threads(threadsNumber)
-                .build();
+        final int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threadsNumber = 1; threadsNumber <= maxThreads; threadsNumber = nextThreadsNumber(threadsNumber, maxThreads)) {
+            final Options opt = new OptionsBuilder().include(".*" + SpinnerBenchmark.class.getSimpleName() + ".*")
+                    .resultFormat(ResultFormatType.JSON).result("spinner-benchmark-" + threadsNumber + "-threads.json")
+                    .measurementTime(TimeValue.seconds(10)).threads(threadsNumber).addProfiler(GCProfiler.class).build();
+
+            new Runner(opt).run();
+        }
+    }
 
-        new Runner(opt).run();
+    private static int nextThreadsNumber(final int threadsNumber, final int maxThreads) {
+        return threadsNumber < maxThreads && threadsNumber * 2 > maxThreads ? maxThreads : threadsNumber * 2;
     }
 }
@@ -0,0 +1,150 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class SpinnerRegistryTest {
+    private static final int NUMBER_OF_STEPS = 2;
+    private static final int CAPACITY = 4;
+    @Mock
+    private Clock clock;
+    private ExecutorService executorService;
+    private SpinnerRegistry<String> victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setClockToStep(0);
+        victim = SpinnerRegistry.create(new SpinnerConfig<Void, Void>().setClock(clock).setSlotsNumber(NUMBER_OF_STEPS)
+                .setTimeSlotSpan(1), CAPACITY);
+        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdown();
+    }
+
+    private void setClockToStep(final int step) {
+        when(clock.now()).thenReturn((long) step);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithInvalidCapacity() {
+        SpinnerRegistry.create(new SpinnerConfig<Void, Void>(), 0);
+    }
+
+    @Test
+    public void shouldReturnZeroForUnknownKey() {
+        assertEquals(0, victim.sum("unknown"));
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void shouldKeepSeparateWindowPerKey() {
+        victim.add("a", 10);
+        victim.add("b", 1);
+        assertEquals(2, victim.size());
+        assertEquals(0, victim.sum("a"));
+
+        setClockToStep(1);
+        victim.add("a", 5);
+        assertEquals(10, victim.sum("a"));
+        assertEquals(1, victim.sum("b"));
+
+        setClockToStep(2);
+        assertEquals(15, victim.sum("a"));
+
+        setClockToStep(3);
+        assertEquals(5, victim.sum("a"));
+    }
+
+    @Test
+    public void shouldAddEmptySlotsWhenSeveralSlotsExpire() {
+        victim.add("a", 10);
+        setClockToStep(2);
+        assertEquals(10, victim.sum("a"));
+        setClockToStep(3);
+        assertEquals(0, victim.sum("a"));
+    }
+
+    @Test
+    public void shouldEvictIdleKeys() {
+        victim.add("a", 10);
+        victim.add("b", 10);
+        setClockToStep(1);
+        victim.add("b", 10);
+        setClockToStep(2);
+        victim.add("b", 10);
+        setClockToStep(3);
+        assertEquals(20, victim.sum("b"));
+        assertEquals(1, victim.size());
+        assertTrue(victim.keys().contains("b"));
+        assertEquals(0, victim.sum("a"));
+    }
+
+    @Test
+    public void shouldClearAllWindowsWhenAllSlotsExpire() {
+        victim.add("a", 10);
+        setClockToStep(NUMBER_OF_STEPS + 1);
+        assertEquals(0, victim.sum("a"));
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void shouldReuseRowsOfEvictedKeys() {
+        for (int i = 0; i < CAPACITY; i++) {
+            victim.increment("key" + i);
+        }
+        setClockToStep(NUMBER_OF_STEPS + 1);
+        assertEquals(0, victim.sum("key0"));
+        // rows released after the first rotation are reused after the next one
+        setClockToStep(NUMBER_OF_STEPS + 2);
+        for (int i = 0; i < CAPACITY; i++) {
+            victim.add("other" + i, i);
+        }
+        setClockToStep(NUMBER_OF_STEPS + 3);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(i, victim.sum("other" + i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotAddMoreKeysThanCapacity() {
+        for (int i = 0; i <= CAPACITY; i++) {
+            victim.increment("key" + i);
+        }
+    }
+
+    @Test
+    public void shouldNotLoseConcurrentUpdates() throws Exception {
+        final int times = 1000;
+        final CountDownLatch latch = new CountDownLatch(times);
+        for (int i = 0; i < times; i++) {
+            final String key = "key" + i % CAPACITY;
+            executorService.submit(new Runnable() {
+                public void run() {
+                    victim.increment(key);
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        setClockToStep(1);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(times / CAPACITY, victim.sum("key" + i));
+        }
+    }
+}
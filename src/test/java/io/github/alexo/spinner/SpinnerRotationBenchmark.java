@@ -0,0 +1,142 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Ignore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of the rotation itself: the clock is moved by the benchmark, so every operation crosses a slot boundary (or several,
+ * for the gap benchmarks). The latency distribution is sampled, since the rotation cost is paid by the unlucky caller hitting the
+ * boundary. The spans are in nanoseconds: a power of two span uses shifts instead of divisions.
+ */
+@Ignore
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SpinnerRotationBenchmark {
+    @Param({ "10000", "16384" })
+    private long timeSlotSpan;
+    @Param({ "10", "3600", "86400" })
+    private int slotsNumber;
+    /**
+     * When true, the spinner uses an {@link IncrementalSlotsAggregator} instead of re-scanning all the slots.
+     */
+    @Param({ "false", "true" })
+    private boolean incremental;
+    private ManualClock clock;
+    private Spinner<AtomicLong, Long> spinner;
+    private LongSpinner longSpinner;
+
+    @Setup
+    public void setUp() {
+        clock = new ManualClock();
+        final SpinnerConfig<AtomicLong, Long> config = new SpinnerConfig<AtomicLong, Long>().setClock(clock, TimeUnit.NANOSECONDS)
+                .setSlotSupplier(new SlotSupplier<AtomicLong>() {
+                    public AtomicLong get() {
+                        return new AtomicLong();
+                    }
+                }).setSlotsAggregator(incremental ? createIncrementalAggregator() : createAggregator())
+                .setSlotsNumber(slotsNumber).setTimeSlotSpan(timeSlotSpan, TimeUnit.NANOSECONDS);
+        spinner = Spinner.create(config);
+        longSpinner = LongSpinner.create(config);
+        // fill the window, so that each rotation evicts a slot
+        for (int i = 0; i < slotsNumber; i++) {
+            rotation();
+            longSpinnerRotation();
+        }
+    }
+
+    @Benchmark
+    public Long rotation() {
+        clock.time += timeSlotSpan;
+        spinner.getCurrentSlot().incrementAndGet();
+        return spinner.getData();
+    }
+
+    /**
+     * Expires half of the window at once, so the rotation adds the empty slots of the gap.
+     */
+    @Benchmark
+    public Long gapRotation() {
+        clock.time += timeSlotSpan * (slotsNumber / 2 + 1);
+        spinner.getCurrentSlot().incrementAndGet();
+        return spinner.getData();
+    }
+
+    @Benchmark
+    public long longSpinnerRotation() {
+        clock.time += timeSlotSpan;
+        longSpinner.increment();
+        return longSpinner.sum();
+    }
+
+    @Benchmark
+    public long longSpinnerGapRotation() {
+        clock.time += timeSlotSpan * (slotsNumber / 2 + 1);
+        longSpinner.increment();
+        return longSpinner.sum();
+    }
+
+    private SlotsAggregator<AtomicLong, Long> createAggregator() {
+        return new SlotsAggregator<AtomicLong, Long>() {
+            public Long aggregate(final Iterator<AtomicLong> slotsIterator, final AtomicLong expiredSlot) {
+                long sum = 0;
+                while (slotsIterator.hasNext()) {
+                    sum += slotsIterator.next().get();
+                }
+                return sum;
+            }
+        };
+    }
+
+    private SlotsAggregator<AtomicLong, Long> createIncrementalAggregator() {
+        return new SumSlotsAggregator<AtomicLong>() {
+            @Override
+            protected long valueOf(final AtomicLong slot) {
+                return slot.get();
+            }
+        };
+    }
+
+    /**
+     * Clock moved only by the benchmark thread.
+     */
+    private static final class ManualClock implements Clock {
+        private long time;
+
+        public long now() {
+            return time;
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(".*" + SpinnerRotationBenchmark.class.getSimpleName() + ".*")
+                .resultFormat(ResultFormatType.JSON).addProfiler(GCProfiler.class).build();
+
+        new Runner(opt).run();
+    }
+}
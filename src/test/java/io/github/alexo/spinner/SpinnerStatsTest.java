@@ -0,0 +1,98 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class SpinnerStatsTest {
+    private static final int NUMBER_OF_STEPS = 3;
+    @Mock
+    private Clock clock;
+    private final AtomicBoolean supplierFails = new AtomicBoolean();
+    private Spinner<AtomicLong, Long> victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        setClockToStep(0);
+        victim = Spinner.create(createConfig().setStatsEnabled(true));
+    }
+
+    private SpinnerConfig<AtomicLong, Long> createConfig() {
+        return new SpinnerConfig<AtomicLong, Long>().setClock(clock).setSlotSupplier(new SlotSupplier<AtomicLong>() {
+            public AtomicLong get() {
+                if (supplierFails.get()) {
+                    throw new IllegalStateException("BOOM");
+                }
+                return new AtomicLong();
+            }
+        }).setSlotsAggregator(new SumSlotsAggregator<AtomicLong>() {
+            @Override
+            protected long valueOf(final AtomicLong slot) {
+                return slot.get();
+            }
+        }).setSlotsNumber(NUMBER_OF_STEPS).setTimeSlotSpan(1);
+    }
+
+    private void setClockToStep(final int step) {
+        when(clock.now()).thenReturn((long) step);
+    }
+
+    @Test
+    public void shouldNotCollectStatsByDefault() {
+        assertNull(Spinner.create(createConfig()).getStats());
+    }
+
+    @Test
+    public void shouldCountRotations() {
+        setClockToStep(1);
+        victim.getData();
+        setClockToStep(3);
+        victim.getData();
+        setClockToStep(10);
+        victim.getData();
+
+        final SpinnerStats stats = victim.getStats();
+        assertEquals(3, stats.getRotations());
+        assertEquals(1, stats.getGapRotations());
+        assertEquals(1, stats.getClearRotations());
+        assertEquals(0, stats.getSlotSupplierFailures());
+        assertEquals(3, stats.getRotationLatency().getTotalCount());
+        assertEquals(3, stats.getAggregationLatency().getTotalCount());
+        assertTrue(stats.getRotationLatencyMax() >= stats.getRotationLatencyP50());
+    }
+
+    @Test
+    public void shouldCountSlotSupplierFailures() {
+        supplierFails.set(true);
+        setClockToStep(1);
+        victim.getData();
+        assertEquals(1, victim.getStats().getSlotSupplierFailures());
+    }
+
+    @Test
+    public void shouldExposeStatsAsMBean() throws Exception {
+        final ObjectName name = new ObjectName("io.github.alexo.spinner:type=SpinnerStats,name=test");
+        victim.getStats().registerMBean(name);
+        try {
+            setClockToStep(1);
+            victim.getData();
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Rotations"));
+        } finally {
+            victim.getStats().unregisterMBean(name);
+        }
+    }
+}
@@ -6,16 +6,27 @@ import io.github.alexo.spinner.Spinner;
 import io.github.alexo.spinner.SpinnerConfig;
 import io.github.alexo.spinner.Spinner.Clock;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -167,6 +178,28 @@ public class SpinnerTest {
         Spinner.create(createDefaultConfig().setTimeSlotSpan(0));
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotAcceptSpanShorterThanClockUnit() {
+        Spinner.create(createDefaultConfig().setTimeSlotSpan(500, TimeUnit.MICROSECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotAcceptSpanTruncatedToClockUnit() {
+        Spinner.create(createDefaultConfig().setTimeSlotSpan(1500, TimeUnit.MICROSECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotAcceptSpanOverflowingClockUnit() {
+        Spinner.create(createDefaultConfig().setClock(clock, TimeUnit.NANOSECONDS).setTimeSlotSpan(Long.MAX_VALUE / 2,
+                TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void shouldAcceptSpanConvertedExactlyToClockUnit() {
+        assertEquals(2, Spinner.create(createDefaultConfig().setTimeSlotSpan(2000, TimeUnit.MICROSECONDS)).getConfig()
+                .getTimeSlotSpan());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void cannotAcceptInvalidSize() {
         Spinner.create(createDefaultConfig().setSlotsNumber(0));
@@ -208,4 +241,557 @@ public class SpinnerTest {
         setClockToStep(2);
         assertEquals(5, victim.getData().intValue());
     }
+
+    @Test
+    public void shouldUseIncrementalAggregatorInsteadOfScanningAllSlots() {
+        final SumSlotsAggregator<AtomicLong> aggregator = Mockito.spy(createSumAggregator());
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(aggregator));
+        spinner.getCurrentSlot().addAndGet(10);
+
+        setClockToStep(1);
+        spinner.getCurrentSlot().addAndGet(12);
+        assertEquals(10, spinner.getData().intValue());
+
+        setClockToStep(2);
+        spinner.getCurrentSlot().addAndGet(14);
+        assertEquals(22, spinner.getData().intValue());
+
+        setClockToStep(3);
+        assertEquals(26, spinner.getData().intValue());
+
+        Mockito.verify(aggregator, Mockito.never()).aggregate(Mockito.<Iterator<AtomicLong>> any(), Mockito.any(AtomicLong.class));
+        Mockito.verify(aggregator, Mockito.times(3)).slotAdded(Mockito.any(AtomicLong.class));
+        Mockito.verify(aggregator, Mockito.times(1)).slotEvicted(Mockito.any(AtomicLong.class));
+    }
+
+    @Test
+    public void shouldClearIncrementalAggregatorWhenAllSlotsExpire() {
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()));
+        spinner.getCurrentSlot().addAndGet(10);
+
+        setClockToStep(1);
+        assertEquals(10, spinner.getData().intValue());
+
+        setClockToStep(NUMBER_OF_STEPS + 2);
+        assertEquals(0, spinner.getData().intValue());
+    }
+
+    private SpinnerConfig<AtomicLong, Long> createSumConfig(final SlotsAggregator<AtomicLong, Long> aggregator) {
+        return new SpinnerConfig<AtomicLong, Long>().setClock(clock).setSlotSupplier(new SlotSupplier<AtomicLong>() {
+            public AtomicLong get() {
+                return new AtomicLong();
+            }
+        }).setSlotsAggregator(aggregator).setSlotsNumber(NUMBER_OF_STEPS).setTimeSlotSpan(1);
+    }
+
+    private SumSlotsAggregator<AtomicLong> createSumAggregator() {
+        return new SumSlotsAggregator<AtomicLong>() {
+            @Override
+            protected long valueOf(final AtomicLong slot) {
+                return slot.get();
+            }
+        };
+    }
+
+    @Test
+    public void shouldRotateFromScheduledTask() {
+        final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+        final ScheduledFuture<?> future = Mockito.mock(ScheduledFuture.class);
+        Mockito.doReturn(future).when(executor).schedule(Mockito.any(Runnable.class), Mockito.anyLong(), Mockito.any(TimeUnit.class));
+        victim = Spinner.create(createDefaultConfig().setRotationExecutor(executor));
+
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(executor).schedule(task.capture(), Mockito.eq(1L), Mockito.eq(TimeUnit.MILLISECONDS));
+        victim.getCurrentSlot().addAndGet(10);
+
+        setClockToStep(1);
+        // the callers do not rotate the spinner
+        assertEquals(0, victim.getData().intValue());
+        task.getValue().run();
+        assertEquals(10, victim.getData().intValue());
+        Mockito.verify(executor, Mockito.times(2)).schedule(task.getValue(), 1L, TimeUnit.MILLISECONDS);
+
+        victim.close();
+        Mockito.verify(future).cancel(false);
+        task.getValue().run();
+        Mockito.verifyNoMoreInteractions(executor);
+    }
+
+    @Test
+    public void shouldAttributeEachUpdateToExactlyOneSlotUnderConcurrentRotation() throws Exception {
+        final AtomicLong time = new AtomicLong();
+        final AtomicLong aggregated = new AtomicLong();
+        final SpinnerConfig<AtomicLong, Long> config = createSumConfig(new SlotsAggregator<AtomicLong, Long>() {
+            public Long aggregate(final Iterator<AtomicLong> slotsIterator, final AtomicLong expiredSlot) {
+                // each expired slot is handed exactly once to the aggregator
+                return aggregated.addAndGet(expiredSlot.get());
+            }
+        }).setSlotsNumber(1).setClock(new Clock() {
+            public long now() {
+                return time.get();
+            }
+        });
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(config);
+        final SlotUpdater<AtomicLong> incrementer = new SlotUpdater<AtomicLong>() {
+            public void update(final AtomicLong slot) {
+                slot.incrementAndGet();
+            }
+        };
+        final int writers = Math.max(4, Runtime.getRuntime().availableProcessors());
+        final int times = 100000;
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final Thread ticker = new Thread() {
+            @Override
+            public void run() {
+                while (writing.get()) {
+                    time.incrementAndGet();
+                    spinner.getData();
+                }
+            }
+        };
+        ticker.start();
+        final Thread[] writerThreads = new Thread[writers];
+        for (int i = 0; i < writers; i++) {
+            writerThreads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < times; j++) {
+                        spinner.update(incrementer);
+                    }
+                }
+            };
+            writerThreads[i].start();
+        }
+        for (final Thread writer : writerThreads) {
+            writer.join();
+        }
+        writing.set(false);
+        ticker.join();
+        time.incrementAndGet();
+        spinner.getData();
+        assertEquals((long) writers * times, aggregated.get());
+    }
+
+    @Test
+    public void shouldReuseEvictedSlotsWhenSupplierIsRecycling() {
+        final AtomicLong created = new AtomicLong();
+        final AtomicLong resets = new AtomicLong();
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setSlotSupplier(
+                new RecyclingSlotSupplier<AtomicLong>() {
+                    public AtomicLong get() {
+                        created.incrementAndGet();
+                        return new AtomicLong();
+                    }
+
+                    public void reset(final AtomicLong slot) {
+                        resets.incrementAndGet();
+                        slot.set(0);
+                    }
+                }));
+        for (int step = 0; step < 10; step++) {
+            setClockToStep(step);
+            spinner.getCurrentSlot().addAndGet(step);
+        }
+        setClockToStep(10);
+        assertEquals(17, spinner.getData().intValue());
+        // the initial slot, the slots filling the window and one in flight
+        assertEquals(NUMBER_OF_STEPS + 2, created.get());
+        assertEquals(10 - NUMBER_OF_STEPS, resets.get());
+
+        // the gap slots are distinct recycled instances
+        setClockToStep(12);
+        spinner.getCurrentSlot().addAndGet(1);
+        setClockToStep(13);
+        assertEquals(1, spinner.getData().intValue());
+    }
+
+    @Test
+    public void shouldIterateDistinctEmptySlotsForIdleTimeSlots() {
+        final Map<AtomicLong, Boolean> seen = new IdentityHashMap<AtomicLong, Boolean>();
+        final AtomicLong iterated = new AtomicLong();
+        final AtomicLong created = new AtomicLong();
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(new SlotsAggregator<AtomicLong, Long>() {
+            public Long aggregate(final Iterator<AtomicLong> slotsIterator, final AtomicLong expiredSlot) {
+                seen.clear();
+                iterated.set(0);
+                while (slotsIterator.hasNext()) {
+                    seen.put(slotsIterator.next(), Boolean.TRUE);
+                    iterated.incrementAndGet();
+                }
+                return iterated.get();
+            }
+        }).setSlotsNumber(5).setSlotSupplier(new SlotSupplier<AtomicLong>() {
+            public AtomicLong get() {
+                created.incrementAndGet();
+                return new AtomicLong();
+            }
+        }));
+        spinner.getCurrentSlot().incrementAndGet();
+        setClockToStep(4);
+        assertEquals(4, spinner.getData().intValue());
+        assertEquals(4, seen.size());
+        // the initial slot, the next one and the 3 empty slots
+        assertEquals(5, created.get());
+
+        // the empty slots are created once
+        setClockToStep(5);
+        assertEquals(5, spinner.getData().intValue());
+        assertEquals(5, seen.size());
+        assertEquals(6, created.get());
+    }
+
+    @Test
+    public void shouldNotifyIncrementalAggregatorAboutIdleTimeSlots() {
+        final SumSlotsAggregator<AtomicLong> aggregator = Mockito.spy(createSumAggregator());
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(aggregator).setSlotsNumber(5));
+        spinner.getCurrentSlot().addAndGet(10);
+
+        setClockToStep(4);
+        assertEquals(10, spinner.getData().intValue());
+        // the idle time slots are notified at once
+        Mockito.verify(aggregator, Mockito.times(1)).slotAdded(Mockito.any(AtomicLong.class));
+        Mockito.verify(aggregator, Mockito.times(1)).slotsSkipped(3);
+        assertEquals(4, aggregator.getCount());
+
+        setClockToStep(6);
+        assertEquals(0, spinner.getData().intValue());
+        Mockito.verify(aggregator, Mockito.times(1)).slotEvicted(Mockito.any(AtomicLong.class));
+        assertEquals(5, aggregator.getCount());
+
+        // the 3 idle time slots and the slot 4 leave the window
+        setClockToStep(10);
+        assertEquals(0, spinner.getData().intValue());
+        Mockito.verify(aggregator, Mockito.times(1)).skippedSlotsEvicted(3);
+        assertEquals(5, aggregator.getCount());
+    }
+
+    @Test
+    public void shouldComputeMinimumIncludingIdleTimeSlots() {
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(new MinSlotsAggregator<AtomicLong>() {
+            @Override
+            protected long valueOf(final AtomicLong slot) {
+                return slot.get();
+            }
+        }).setSlotsNumber(5));
+        spinner.getCurrentSlot().addAndGet(10);
+        setClockToStep(1);
+        spinner.getCurrentSlot().addAndGet(12);
+        setClockToStep(2);
+        assertEquals(10, spinner.getData().intValue());
+        spinner.getCurrentSlot().addAndGet(14);
+
+        // the slot 3 is idle
+        setClockToStep(4);
+        assertEquals(0, spinner.getData().intValue());
+
+        // the idle slot leaves the window
+        for (int step = 5; step < 10; step++) {
+            setClockToStep(step);
+            spinner.getCurrentSlot().addAndGet(20 + step);
+        }
+        setClockToStep(10);
+        assertEquals(25, spinner.getData().intValue());
+    }
+
+    @Test
+    public void shouldLeaveIdleTimeSlotsOutWhenSlotSupplierFails() {
+        final AtomicBoolean failing = new AtomicBoolean();
+        final Spinner<AtomicLong, Number> spinner = Spinner.create(new SpinnerConfig<AtomicLong, Number>().setClock(clock)
+                .setSlotSupplier(new SlotSupplier<AtomicLong>() {
+                    public AtomicLong get() {
+                        if (failing.get()) {
+                            throw new IllegalStateException("BOOM");
+                        }
+                        return new AtomicLong();
+                    }
+                }).setSlotsAggregator(createAverageAggregator()).setSlotsNumber(5).setTimeSlotSpan(1));
+        spinner.getCurrentSlot().addAndGet(10);
+        failing.set(true);
+
+        // the 3 idle time slots have no slot
+        setClockToStep(4);
+        assertEquals(10, spinner.getData().intValue());
+    }
+
+    @Test
+    public void shouldAggregateLazilyOncePerSlotChange() {
+        final SlotsAggregator<AtomicLong, Number> aggregator = Mockito.spy(createAverageAggregator());
+        victim = Spinner.create(createDefaultConfig().setSlotsAggregator(aggregator).setLazyAggregation(true));
+        victim.getCurrentSlot().addAndGet(10);
+        for (int step = 1; step <= 5; step++) {
+            setClockToStep(step);
+            victim.getCurrentSlot().addAndGet(12);
+        }
+        // the initial aggregation only
+        Mockito.verify(aggregator, Mockito.times(1)).aggregate(Mockito.<Iterator<AtomicLong>> any(), Mockito.any(AtomicLong.class));
+
+        assertEquals(12, victim.getData().intValue());
+        assertEquals(12, victim.getData().intValue());
+        Mockito.verify(aggregator, Mockito.times(2)).aggregate(Mockito.<Iterator<AtomicLong>> any(), Mockito.any(AtomicLong.class));
+    }
+
+    @Test
+    public void shouldTakeSnapshotWithSlotStartTimes() {
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setSlotsNumber(3));
+        spinner.getCurrentSlot().addAndGet(10);
+        setClockToStep(2);
+        spinner.getCurrentSlot().addAndGet(12);
+        setClockToStep(3);
+        spinner.getCurrentSlot().addAndGet(14);
+
+        final SpinnerSnapshot<AtomicLong> snapshot = spinner.snapshot();
+        assertEquals(3, snapshot.size());
+        assertEquals(1, snapshot.getTimeSlotSpan());
+        assertEquals(10, snapshot.getSlot(0).get());
+        assertEquals(0, snapshot.getStartTime(0));
+        assertEquals(12, snapshot.getSlot(1).get());
+        assertEquals(2, snapshot.getStartTime(1));
+        assertEquals(14, snapshot.getCurrentSlot().get());
+        assertEquals(3, snapshot.getStartTime(2));
+
+        setClockToStep(4);
+        spinner.getData();
+        // the snapshot is not affected by the following slot changes
+        assertEquals(10, snapshot.getSlot(0).get());
+        assertEquals(12, spinner.snapshot().getSlot(0).get());
+    }
+
+    @Test
+    public void shouldNotRecycleSlotsOnceSnapshotIsTaken() {
+        final AtomicLong resets = new AtomicLong();
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setSlotSupplier(
+                new RecyclingSlotSupplier<AtomicLong>() {
+                    public AtomicLong get() {
+                        return new AtomicLong();
+                    }
+
+                    public void reset(final AtomicLong slot) {
+                        resets.incrementAndGet();
+                        slot.set(0);
+                    }
+                }));
+        spinner.getCurrentSlot().addAndGet(10);
+        setClockToStep(1);
+        final SpinnerSnapshot<AtomicLong> snapshot = spinner.snapshot();
+        for (int step = 2; step < 6; step++) {
+            setClockToStep(step);
+            spinner.getCurrentSlot().addAndGet(step);
+        }
+        assertEquals(0, resets.get());
+        assertEquals(10, snapshot.getSlot(0).get());
+        assertEquals(0, snapshot.getCurrentSlot().get());
+    }
+
+    @Test
+    public void shouldRotateMicrosecondSlotsUsingNanosecondClock() {
+        when(clock.now()).thenReturn(0L);
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setClock(clock,
+                TimeUnit.NANOSECONDS).setTimeSlotSpan(50, TimeUnit.MICROSECONDS));
+        assertEquals(50000, spinner.getConfig().getTimeSlotSpan());
+        spinner.getCurrentSlot().addAndGet(10);
+        when(clock.now()).thenReturn(49999L);
+        assertEquals(0, spinner.getData().intValue());
+
+        when(clock.now()).thenReturn(50000L);
+        spinner.getCurrentSlot().addAndGet(12);
+        assertEquals(10, spinner.getData().intValue());
+
+        when(clock.now()).thenReturn(149999L);
+        assertEquals(22, spinner.getData().intValue());
+        assertEquals(100000, spinner.snapshot().getStartTime(2));
+    }
+
+    @Test
+    public void shouldRotatePowerOfTwoSpanSlots() {
+        when(clock.now()).thenReturn(0L);
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setClock(clock,
+                TimeUnit.NANOSECONDS).setTimeSlotSpan(1024, TimeUnit.NANOSECONDS));
+        spinner.getCurrentSlot().addAndGet(10);
+        when(clock.now()).thenReturn(1023L);
+        assertEquals(0, spinner.getData().intValue());
+
+        // skip one idle slot
+        when(clock.now()).thenReturn(3000L);
+        spinner.getCurrentSlot().addAndGet(12);
+        assertEquals(10, spinner.getData().intValue());
+        final SpinnerSnapshot<AtomicLong> snapshot = spinner.snapshot();
+        assertEquals(2048, snapshot.getStartTime(snapshot.size() - 1));
+
+        when(clock.now()).thenReturn(3072L);
+        assertEquals(12, spinner.getData().intValue());
+    }
+
+    @Test
+    public void shouldNotifyListenerAboutEachRotation() {
+        final List<String> events = new ArrayList<String>();
+        final Executor sameThread = new Executor() {
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        };
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setLazyAggregation(true)
+                .addListener(createRecordingListener(events), sameThread, 10));
+        spinner.getCurrentSlot().addAndGet(10);
+        setClockToStep(1);
+        spinner.getCurrentSlot().addAndGet(12);
+        setClockToStep(2);
+        spinner.getCurrentSlot();
+        assertEquals(2, events.size());
+        assertEquals("0:10:10", events.get(0));
+        assertEquals("1:12:22", events.get(1));
+    }
+
+    @Test
+    public void shouldDropRotationsWhenListenerDoesNotKeepUp() {
+        final List<String> events = new ArrayList<String>();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        final Executor queueingExecutor = new Executor() {
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        };
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setStatsEnabled(true)
+                .addListener(createRecordingListener(events), queueingExecutor, 1));
+        spinner.getCurrentSlot().addAndGet(10);
+        setClockToStep(1);
+        spinner.getCurrentSlot().addAndGet(12);
+        setClockToStep(2);
+        spinner.getData();
+        // a single drain task is pending
+        assertEquals(1, tasks.size());
+        assertEquals(1, spinner.getStats().getDroppedListenerEvents());
+
+        tasks.remove(0).run();
+        assertEquals(1, events.size());
+        assertEquals("0:10:10", events.get(0));
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void shouldNotRecycleSlotsWhenListenerIsRegistered() {
+        final List<String> events = new ArrayList<String>();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        final AtomicLong resets = new AtomicLong();
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setSlotSupplier(
+                new RecyclingSlotSupplier<AtomicLong>() {
+                    public AtomicLong get() {
+                        return new AtomicLong();
+                    }
+
+                    public void reset(final AtomicLong slot) {
+                        resets.incrementAndGet();
+                        slot.set(0);
+                    }
+                }).addListener(createRecordingListener(events), new Executor() {
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        }, 10));
+        for (int step = 0; step < 5; step++) {
+            setClockToStep(step);
+            spinner.getCurrentSlot().addAndGet(step + 1);
+        }
+        setClockToStep(5);
+        spinner.getData();
+        // the listener reads the slots once they left the window
+        tasks.remove(0).run();
+        assertEquals(5, events.size());
+        assertEquals("0:1:1", events.get(0));
+        assertEquals("4:5:9", events.get(4));
+        assertEquals(0, resets.get());
+    }
+
+    @Test
+    public void shouldNotNotifyListenerRegisteredAfterCreation() {
+        final List<String> events = new ArrayList<String>();
+        final Executor sameThread = new Executor() {
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        };
+        final SpinnerConfig<AtomicLong, Long> config = createSumConfig(createSumAggregator());
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(config);
+        config.addListener(createRecordingListener(events), sameThread, 10);
+        spinner.getCurrentSlot().addAndGet(10);
+        setClockToStep(1);
+        assertEquals(10, spinner.getData().intValue());
+        assertEquals(0, events.size());
+    }
+
+    private SpinnerListener<AtomicLong, Long> createRecordingListener(final List<String> events) {
+        return new SpinnerListener<AtomicLong, Long>() {
+            public void rotated(final Spinner<AtomicLong, Long> spinner, final AtomicLong slot, final long startTime, final Long data) {
+                events.add(startTime + ":" + slot.get() + ":" + data);
+            }
+        };
+    }
+
+    @Test
+    public void shouldDeliverRotationsOfEachSpinnerSeparately() {
+        final List<Spinner<AtomicLong, Long>> sources = new ArrayList<Spinner<AtomicLong, Long>>();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        final SpinnerConfig<AtomicLong, Long> config = createSumConfig(createSumAggregator()).addListener(
+                new SpinnerListener<AtomicLong, Long>() {
+                    public void rotated(final Spinner<AtomicLong, Long> spinner, final AtomicLong slot, final long startTime,
+                            final Long data) {
+                        sources.add(spinner);
+                    }
+                }, new Executor() {
+                    public void execute(final Runnable command) {
+                        tasks.add(command);
+                    }
+                }, 1);
+        final Spinner<AtomicLong, Long> first = Spinner.create(config);
+        final Spinner<AtomicLong, Long> second = Spinner.create(config);
+        setClockToStep(1);
+        first.getData();
+        second.getData();
+        // a queue and a drain task for each spinner
+        assertEquals(2, tasks.size());
+        tasks.get(1).run();
+        tasks.get(0).run();
+        assertEquals(2, sources.size());
+        assertEquals(second, sources.get(0));
+        assertEquals(first, sources.get(1));
+    }
+
+    @Test
+    public void shouldNotWaitForRotationInProgress() throws Exception {
+        final CountDownLatch rotating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean created = new AtomicBoolean();
+        final Spinner<AtomicLong, Long> spinner = Spinner.create(createSumConfig(createSumAggregator()).setStatsEnabled(true)
+                .setSlotSupplier(new SlotSupplier<AtomicLong>() {
+                    public AtomicLong get() {
+                        if (created.getAndSet(true)) {
+                            // block the rotating thread
+                            rotating.countDown();
+                            try {
+                                release.await();
+                            } catch (final InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        return new AtomicLong();
+                    }
+                }));
+        final AtomicLong firstSlot = spinner.getCurrentSlot();
+        firstSlot.addAndGet(10);
+        setClockToStep(1);
+        final Future<Long> rotation = executorService.submit(new Callable<Long>() {
+            public Long call() {
+                return spinner.getData();
+            }
+        });
+        rotating.await();
+        // the rotation is claimed by the other thread: the current generation is returned right away
+        assertEquals(0, spinner.getData().intValue());
+        assertEquals(firstSlot, spinner.getCurrentSlot());
+        assertEquals(2, spinner.getStats().getLostRotationRaces());
+
+        release.countDown();
+        assertEquals(10, rotation.get().intValue());
+        assertEquals(10, spinner.getData().intValue());
+        assertEquals(1, spinner.getStats().getRotations());
+    }
 }
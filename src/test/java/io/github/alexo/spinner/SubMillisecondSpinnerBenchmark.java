@@ -0,0 +1,119 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.Spinner.Clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Ignore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the updates per second of spinners using the {@link Clock#NANO} clock and microsecond slots, which rotate between 10 and 100
+ * thousand times per second. The rotations performed by the spinner are reported as secondary results (see {@link RotationCounters}).
+ */
+@Ignore
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SubMillisecondSpinnerBenchmark {
+    /**
+     * The span in nanoseconds: 10 and 100 microseconds, and the closest powers of two.
+     */
+    @Param({ "10000", "16384", "100000", "131072" })
+    private long timeSlotSpan;
+    private Spinner<AtomicLong, Long> spinner;
+    private LongSpinner longSpinner;
+
+    @Setup
+    public void setUp() {
+        final SpinnerConfig<AtomicLong, Long> config = new SpinnerConfig<AtomicLong, Long>().setClock(Clock.NANO,
+                TimeUnit.NANOSECONDS).setSlotSupplier(new SlotSupplier<AtomicLong>() {
+            public AtomicLong get() {
+                return new AtomicLong();
+            }
+        }).setSlotsAggregator(new SumSlotsAggregator<AtomicLong>() {
+            @Override
+            protected long valueOf(final AtomicLong slot) {
+                return slot.get();
+            }
+        }).setSlotsNumber(100).setTimeSlotSpan(timeSlotSpan, TimeUnit.NANOSECONDS).setStatsEnabled(true);
+        spinner = Spinner.create(config);
+        longSpinner = LongSpinner.create(config);
+    }
+
+    /**
+     * The rotations of the spinner during an iteration, and how many of them skipped idle slots. JMH adds up the counters of all the
+     * threads, so only the first thread reports them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters
+    public static class RotationCounters {
+        public long rotations;
+        public long gapRotations;
+        private SpinnerStats stats;
+        private long rotationsBefore;
+        private long gapRotationsBefore;
+
+        @Setup(Level.Iteration)
+        public void start(final SubMillisecondSpinnerBenchmark benchmark) {
+            stats = benchmark.spinner.getStats();
+            rotationsBefore = stats.getRotations();
+            gapRotationsBefore = stats.getGapRotations();
+        }
+
+        /**
+         * Does not take the benchmark state as well, since JMH 1.1.1 reports it as a dependency cycle.
+         */
+        @TearDown(Level.Iteration)
+        public void stop(final ThreadParams threadParams) {
+            final boolean reporting = threadParams.getThreadIndex() == 0;
+            rotations = reporting ? stats.getRotations() - rotationsBefore : 0;
+            gapRotations = reporting ? stats.getGapRotations() - gapRotationsBefore : 0;
+        }
+    }
+
+    @Benchmark
+    public long update(final RotationCounters counters) {
+        return spinner.getCurrentSlot().incrementAndGet();
+    }
+
+    @Benchmark
+    public Long getData(final RotationCounters counters) {
+        return spinner.getData();
+    }
+
+    @Benchmark
+    public void longSpinnerAdd() {
+        longSpinner.increment();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(".*" + SubMillisecondSpinnerBenchmark.class.getSimpleName() + ".*")
+                .resultFormat(ResultFormatType.JSON).threads(Runtime.getRuntime().availableProcessors()).build();
+
+        new Runner(opt).run();
+    }
+}
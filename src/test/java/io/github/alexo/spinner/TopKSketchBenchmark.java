@@ -0,0 +1,90 @@
+package io.github.alexo.spinner;
+
+import io.github.alexo.spinner.TopKSketch.Entry;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the records per second of a spinner of {@link TopKSketch} slots, for a number of distinct keys lower and much higher than the
+ * capacity of the sketches. The keys are skewed (a few keys are much more frequent than the others), as for per-client traffic.
+ */
+@Ignore
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class TopKSketchBenchmark {
+    private static final int CAPACITY = 100;
+    private static final int KEYS_MASK = 1023;
+    @Param({ "50", "100000" })
+    private int distinctKeys;
+    private Spinner<TopKSketch<Integer>, List<Entry<Integer>>> victim;
+    private Integer[] keys;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        victim = Spinner.create(new SpinnerConfig<TopKSketch<Integer>, List<Entry<Integer>>>().setSlotsNumber(10)
+                .setTimeSlotSpan(100).setClock(CachedClock.create(1))
+                .setSlotSupplier(TopKSketch.<Integer> supplier(CAPACITY))
+                .setSlotsAggregator(new TopKSlotsAggregator<Integer>(10)));
+        final Random random = new Random(0);
+        keys = new Integer[KEYS_MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            // squaring a uniform value skews the keys towards the lowest ones
+            final double uniform = random.nextDouble();
+            keys[i] = Integer.valueOf((int) (uniform * uniform * distinctKeys));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        victim.close();
+    }
+
+    @Benchmark
+    public void record() {
+        // racy on purpose: the key sequence does not need to be exact
+        final Integer key = keys[index++ & KEYS_MASK];
+        victim.update(new SlotUpdater<TopKSketch<Integer>>() {
+            public void update(final TopKSketch<Integer> slot) {
+                slot.add(key);
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Entry<Integer>> getData() {
+        return victim.getData();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder().include(".*" + TopKSketchBenchmark.class.getSimpleName() + ".*")
+                .resultFormat(ResultFormatType.JSON).threads(Runtime.getRuntime().availableProcessors()).build();
+
+        new Runner(opt).run();
+    }
+}
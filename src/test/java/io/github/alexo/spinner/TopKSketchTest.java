@@ -0,0 +1,163 @@
+package io.github.alexo.spinner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import io.github.alexo.spinner.Spinner.Clock;
+import io.github.alexo.spinner.TopKSketch.Entry;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class TopKSketchTest {
+    private static final int CAPACITY = 3;
+    private static final int NUMBER_OF_STEPS = 2;
+    @Mock
+    private Clock clock;
+    private TopKSketch<String> victim;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        victim = new TopKSketch<String>(CAPACITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithInvalidCapacity() {
+        new TopKSketch<String>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotAddNullKey() {
+        victim.add(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotAddNegativeCount() {
+        victim.add("a", -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateAggregatorWithInvalidK() {
+        new TopKSlotsAggregator<String>(0);
+    }
+
+    @Test
+    public void shouldCountExactlyWhenCapacityIsNotExceeded() {
+        victim.add("a", 5);
+        victim.add("b");
+        victim.add("c", 3);
+        victim.add("b");
+        final List<Entry<String>> entries = victim.entries();
+        assertEquals(3, entries.size());
+        assertEntry(entries.get(0), "a", 5, 0);
+        assertEntry(entries.get(1), "c", 3, 0);
+        assertEntry(entries.get(2), "b", 2, 0);
+    }
+
+    @Test
+    public void shouldReplaceLeastFrequentKeyWhenFull() {
+        victim.add("a", 5);
+        victim.add("b", 2);
+        victim.add("c", 3);
+        victim.add("d");
+        final List<Entry<String>> entries = victim.entries();
+        assertEquals(CAPACITY, entries.size());
+        assertEntry(entries.get(0), "a", 5, 0);
+        // d inherits the count of b as the error
+        assertEntry(entries.get(1), "d", 3, 2);
+        assertEntry(entries.get(2), "c", 3, 0);
+    }
+
+    @Test
+    public void shouldKeepHeavyHittersWithManyDistinctKeys() {
+        for (int i = 0; i < 1000; i++) {
+            victim.add("heavy");
+            victim.add("key" + i);
+        }
+        final Entry<String> top = victim.entries().get(0);
+        assertEquals("heavy", top.getKey());
+        assertTrue(top.getCount() >= 1000);
+    }
+
+    @Test
+    public void shouldRemoveAllCountersOnReset() {
+        victim.add("a");
+        victim.reset();
+        assertTrue(victim.entries().isEmpty());
+        victim.add("b");
+        assertEntry(victim.entries().get(0), "b", 1, 0);
+    }
+
+    @Test
+    public void shouldComputeTopKOverSlidingWindow() {
+        setClockToStep(0);
+        final Spinner<TopKSketch<String>, List<Entry<String>>> spinner = Spinner
+                .create(new SpinnerConfig<TopKSketch<String>, List<Entry<String>>>().setClock(clock)
+                        .setSlotSupplier(TopKSketch.<String> supplier(CAPACITY))
+                        .setSlotsAggregator(new TopKSlotsAggregator<String>(2)).setSlotsNumber(NUMBER_OF_STEPS)
+                        .setTimeSlotSpan(1));
+        assertTrue(spinner.getData().isEmpty());
+        record(spinner, "a", 5);
+        record(spinner, "b", 1);
+        setClockToStep(1);
+        record(spinner, "b", 3);
+        record(spinner, "c", 2);
+        setClockToStep(2);
+        List<Entry<String>> top = spinner.getData();
+        assertEquals(2, top.size());
+        assertEntry(top.get(0), "a", 5, 0);
+        assertEntry(top.get(1), "b", 4, 0);
+
+        setClockToStep(3);
+        top = spinner.getData();
+        assertEquals(2, top.size());
+        assertEntry(top.get(0), "b", 3, 0);
+        assertEntry(top.get(1), "c", 2, 0);
+
+        setClockToStep(NUMBER_OF_STEPS + 5);
+        assertTrue(spinner.getData().isEmpty());
+    }
+
+    @Test
+    public void shouldRankKeysAfterSlotsAreEvicted() {
+        final TopKSlotsAggregator<String> aggregator = new TopKSlotsAggregator<String>(2);
+        aggregator.slotsCleared();
+        for (int step = 1; step <= 10; step++) {
+            // the same sketch is reset and reused, as by a recycling supplier
+            victim.reset();
+            victim.add("step" + step, step);
+            victim.add("common");
+            if (step > NUMBER_OF_STEPS) {
+                aggregator.slotEvicted(victim);
+            }
+            aggregator.slotAdded(victim);
+        }
+        final List<Entry<String>> top = aggregator.getAggregated();
+        assertEquals(2, top.size());
+        assertEntry(top.get(0), "step10", 10, 0);
+        assertEntry(top.get(1), "step9", 9, 0);
+    }
+
+    private void assertEntry(final Entry<String> entry, final String key, final long count, final long error) {
+        assertEquals(key, entry.getKey());
+        assertEquals(count, entry.getCount());
+        assertEquals(error, entry.getError());
+    }
+
+    private void record(final Spinner<TopKSketch<String>, ?> spinner, final String key, final long count) {
+        spinner.update(new SlotUpdater<TopKSketch<String>>() {
+            public void update(final TopKSketch<String> slot) {
+                slot.add(key, count);
+            }
+        });
+    }
+
+    private void setClockToStep(final int step) {
+        when(clock.now()).thenReturn((long) step);
+    }
+}